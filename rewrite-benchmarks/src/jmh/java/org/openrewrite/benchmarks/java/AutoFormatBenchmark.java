@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.cleanup.EmptyForInitializerPadStyle;
+import org.openrewrite.java.cleanup.EmptyForIteratorPadStyle;
+import org.openrewrite.java.format.*;
+import org.openrewrite.java.style.*;
+import org.openrewrite.java.tree.J;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link AutoFormatVisitor} to running each of the formatting visitors it is made up of one after the
+ * other, as it used to.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class AutoFormatBenchmark {
+
+    @Benchmark
+    public void autoFormat(JavaCompilationUnitState state, Blackhole hole) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        for (J.CompilationUnit cu : state.getSourceFiles()) {
+            Cursor cursor = new Cursor(null, cu);
+            for (J.ClassDeclaration clazz : cu.getClasses()) {
+                hole.consume(new AutoFormatVisitor<ExecutionContext>().visit(clazz, ctx, cursor));
+            }
+        }
+    }
+
+    @Benchmark
+    public void visitorChain(JavaCompilationUnitState state, Blackhole hole) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        for (J.CompilationUnit cu : state.getSourceFiles()) {
+            Cursor cursor = new Cursor(null, cu);
+            for (J.ClassDeclaration clazz : cu.getClasses()) {
+                J t = new NormalizeFormatVisitor<>().visit(clazz, ctx, cursor.fork());
+                t = new MinimumViableSpacingVisitor<>(null).visit(t, ctx, cursor.fork());
+                t = new RemoveTrailingWhitespaceVisitor<>().visit(t, ctx, cursor.fork());
+                t = new BlankLinesVisitor<>(Optional.ofNullable(cu.getStyle(BlankLinesStyle.class))
+                        .orElse(IntelliJ.blankLines())).visit(t, ctx, cursor.fork());
+                t = new SpacesVisitor<>(Optional.ofNullable(cu.getStyle(SpacesStyle.class)).orElse(IntelliJ.spaces()),
+                        cu.getStyle(EmptyForInitializerPadStyle.class),
+                        cu.getStyle(EmptyForIteratorPadStyle.class)).visit(t, ctx, cursor.fork());
+                t = new WrappingAndBracesVisitor<>(Optional.ofNullable(cu.getStyle(WrappingAndBracesStyle.class))
+                        .orElse(IntelliJ.wrappingAndBraces())).visit(t, ctx, cursor.fork());
+                t = new TabsAndIndentsVisitor<>(Optional.ofNullable(cu.getStyle(TabsAndIndentsStyle.class))
+                        .orElse(IntelliJ.tabsAndIndents())).visit(t, ctx, cursor.fork());
+                hole.consume(t);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AutoFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
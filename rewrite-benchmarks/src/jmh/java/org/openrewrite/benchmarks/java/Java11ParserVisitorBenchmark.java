@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.JavacTask;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.Java11ParserVisitor;
+import org.openrewrite.java.tree.Space;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures only the mapping of javac's attributed trees to Rewrite's, excluding javac's own parsing and
+ * attribution. Run with the GC profiler to see the allocation per mapped file.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class Java11ParserVisitorBenchmark {
+    List<Path> paths;
+    List<String> sources;
+    List<CompilationUnitTree> compilationUnits;
+
+    @Setup(Level.Trial)
+    public void setup() throws URISyntaxException, IOException {
+        Path rewriteRoot = Paths.get(Java11ParserVisitorBenchmark.class.getResource("./")
+                .toURI()).resolve("../../../../../../../../").normalize();
+
+        paths = Arrays.asList(
+                rewriteRoot.resolve("rewrite-java/src/main/java/org/openrewrite/java/tree/J.java"),
+                rewriteRoot.resolve("rewrite-java/src/main/java/org/openrewrite/java/tree/JavaType.java"),
+                rewriteRoot.resolve("rewrite-java/src/main/java/org/openrewrite/java/JavaVisitor.java"),
+                rewriteRoot.resolve("rewrite-java/src/main/java/org/openrewrite/java/JavaPrinter.java"),
+                rewriteRoot.resolve("rewrite-java/src/main/java/org/openrewrite/java/tree/Space.java")
+        );
+
+        sources = new ArrayList<>();
+        for (Path path : paths) {
+            sources.add(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        }
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = javac.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        Iterable<? extends JavaFileObject> files = fileManager.getJavaFileObjectsFromPaths(paths);
+
+        // the same options that the parser compiles with. errors (e.g. from lombok not being run) are ignored,
+        // as the parser would
+        JavacTask task = (JavacTask) javac.getTask(null, fileManager, diagnostic -> {
+                },
+                Arrays.asList("-proc:none", "-XDallowStringFolding=false",
+                        "-classpath", System.getProperty("java.class.path")),
+                null, files);
+
+        compilationUnits = new ArrayList<>();
+        for (CompilationUnitTree cu : task.parse()) {
+            compilationUnits.add(cu);
+        }
+        task.analyze();
+    }
+
+    @Benchmark
+    public void mapToRewriteAst(Blackhole hole) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        for (int i = 0; i < compilationUnits.size(); i++) {
+            Java11ParserVisitor mapper = new Java11ParserVisitor(paths.get(i), sources.get(i), false,
+                    Collections.emptyList(), new HashMap<>(), ctx);
+            hole.consume(mapper.scan(compilationUnits.get(i), Space.EMPTY));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(Java11ParserVisitorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MethodMatcherBenchmark {
+    List<J.MethodInvocation> invocations;
+
+    MethodMatcher exact = new MethodMatcher("java.util.List add(java.lang.Object)");
+    MethodMatcher dotDot = new MethodMatcher("org.openrewrite.internal.ListUtils map(.., java.util.function.BiFunction)");
+    MethodMatcher wildcard = new MethodMatcher("java.util.* *(..)");
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MethodMatcherBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup(JavaCompilationUnitState state) {
+        invocations = new ArrayList<>();
+        for (J.CompilationUnit cu : state.getSourceFiles()) {
+            new JavaIsoVisitor<List<J.MethodInvocation>>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, List<J.MethodInvocation> acc) {
+                    acc.add(method);
+                    return super.visitMethodInvocation(method, acc);
+                }
+            }.visit(cu, invocations);
+        }
+    }
+
+    @Benchmark
+    public void exactSignature(Blackhole hole) {
+        for (J.MethodInvocation invocation : invocations) {
+            hole.consume(exact.matches(invocation));
+        }
+    }
+
+    @Benchmark
+    public void dotDotArguments(Blackhole hole) {
+        for (J.MethodInvocation invocation : invocations) {
+            hole.consume(dotDot.matches(invocation));
+        }
+    }
+
+    @Benchmark
+    public void wildcardTypeAndName(Blackhole hole) {
+        for (J.MethodInvocation invocation : invocations) {
+            hole.consume(wildcard.matches(invocation));
+        }
+    }
+}
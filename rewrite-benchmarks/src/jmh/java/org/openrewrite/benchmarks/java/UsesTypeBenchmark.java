@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.java;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.J;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recipes ask for the types in use of every compilation unit in every cycle, usually on a compilation unit that is
+ * unchanged or that differs from the last one only outside of its classes.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class UsesTypeBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(UsesTypeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public void usesTypeOnSameCompilationUnit(JavaCompilationUnitState state, Blackhole hole) {
+        UsesType<InMemoryExecutionContext> usesType = new UsesType<>("java.util.List");
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+        for (J.CompilationUnit cu : state.getSourceFiles()) {
+            hole.consume(usesType.visit(cu, ctx));
+        }
+    }
+
+    @Benchmark
+    public void usesTypeOnNewCompilationUnitVersion(JavaCompilationUnitState state, Blackhole hole) {
+        UsesType<InMemoryExecutionContext> usesType = new UsesType<>("java.util.List");
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+        for (J.CompilationUnit cu : state.getSourceFiles()) {
+            hole.consume(usesType.visit(cu.withEof(cu.getEof().withWhitespace("\n")), ctx));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.maven;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.maven.cache.CacheResult;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.cache.MapdbMavenPomCache;
+import org.openrewrite.maven.cache.MavenPomCache;
+import org.openrewrite.maven.cache.RocksdbMavenPomCache;
+import org.openrewrite.maven.internal.RawMaven;
+import org.openrewrite.maven.tree.MavenRepository;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the poms of one resolution step in each kind of pom cache, either cold, when every pom has to be computed
+ * and written, or warm, when every pom is read back from the cache. Poms are parsed up front, so no time is spent
+ * downloading them.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MavenPomCacheBenchmark {
+    private static final int POMS = 200;
+
+    @Param({"inmem", "mapdb", "rocksdb"})
+    String cacheType;
+
+    MavenPomCache cache;
+    List<RawMaven> poms;
+    URI warmRepository = URI.create("https://repo.maven.apache.org/maven2");
+    int coldRepositories;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        MavenRepository repository = new MavenRepository("central", warmRepository, true, false, null, null);
+        poms = new ArrayList<>(POMS);
+        for (int i = 0; i < POMS; i++) {
+            String pom = pom("artifact" + i);
+            poms.add(RawMaven.parse(new Parser.Input(Paths.get("artifact" + i + ".pom"),
+                            () -> new ByteArrayInputStream(pom.getBytes(StandardCharsets.UTF_8))),
+                    null, null, new InMemoryExecutionContext()).withRepository(repository));
+        }
+
+        Path workspace = Files.createTempDirectory("rewrite-pom-cache");
+        switch (cacheType) {
+            case "mapdb":
+                cache = new MapdbMavenPomCache(workspace.toFile(), null);
+                break;
+            case "rocksdb":
+                cache = new RocksdbMavenPomCache(workspace);
+                break;
+            case "inmem":
+            default:
+                cache = new InMemoryMavenPomCache();
+        }
+
+        for (RawMaven pom : poms) {
+            compute(warmRepository, pom);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Benchmark
+    public void cold(Blackhole blackhole) throws Exception {
+        // a repository that has not been seen before, so that every pom is a miss
+        URI repository = URI.create("https://repo" + coldRepositories++ + ".example.com/maven2");
+        for (RawMaven pom : poms) {
+            blackhole.consume(compute(repository, pom));
+        }
+    }
+
+    @Benchmark
+    public void warm(Blackhole blackhole) throws Exception {
+        for (RawMaven pom : poms) {
+            blackhole.consume(compute(warmRepository, pom).getData().getPom().getDependencies());
+        }
+    }
+
+    private CacheResult<RawMaven> compute(URI repository, RawMaven pom) throws Exception {
+        return cache.computeMaven(repository, pom.getPom().getGroupId(), pom.getPom().getArtifactId(),
+                pom.getPom().getVersion(), () -> pom);
+    }
+
+    private static String pom(String artifactId) {
+        StringBuilder pom = new StringBuilder("<project>\n" +
+                "  <modelVersion>4.0.0</modelVersion>\n" +
+                "  <groupId>org.openrewrite.benchmarks</groupId>\n" +
+                "  <artifactId>" + artifactId + "</artifactId>\n" +
+                "  <version>1.0.0</version>\n" +
+                "  <dependencies>\n");
+        for (int i = 0; i < 20; i++) {
+            pom.append("    <dependency>\n")
+                    .append("      <groupId>org.openrewrite.benchmarks</groupId>\n")
+                    .append("      <artifactId>dependency").append(i).append("</artifactId>\n")
+                    .append("      <version>1.").append(i).append(".0</version>\n")
+                    .append("    </dependency>\n");
+        }
+        return pom.append("  </dependencies>\n</project>\n").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MavenPomCacheBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
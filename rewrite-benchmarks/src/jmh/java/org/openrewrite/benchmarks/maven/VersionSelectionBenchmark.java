@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.benchmarks.maven;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.maven.internal.MavenMetadata;
+import org.openrewrite.maven.internal.RequestedVersion;
+import org.openrewrite.maven.internal.Version;
+import org.openrewrite.maven.tree.GroupArtifact;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects the newest version in a range from metadata shaped like that of a widely used artifact, with a few
+ * hundred releases, milestones and release candidates.
+ */
+@Fork(1)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class VersionSelectionBenchmark {
+    List<String> versions;
+    MavenMetadata metadata;
+    RequestedVersion range;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        versions = new ArrayList<>();
+        for (int minor = 0; minor < 14; minor++) {
+            versions.add("2." + minor + ".0-rc1");
+            versions.add("2." + minor + ".0-rc2");
+            for (int patch = 0; patch < 16; patch++) {
+                versions.add("2." + minor + "." + patch);
+                if (patch % 4 == 1) {
+                    versions.add("2." + minor + "." + patch + ".1");
+                }
+            }
+        }
+        metadata = new MavenMetadata(new MavenMetadata.Versioning(versions, null, null));
+        range = new RequestedVersion(new GroupArtifact("com.fasterxml.jackson.core", "jackson-databind"),
+                null, "[2.9,2.12)");
+    }
+
+    /**
+     * What selection cost when every version was parsed again each time it was compared.
+     */
+    @Benchmark
+    public String parseEveryVersion() {
+        Version lower = new Version("2.9");
+        Version upper = new Version("2.12");
+        return versions.stream()
+                .map(Version::new)
+                .filter(v -> lower.compareTo(v) <= 0 && upper.compareTo(v) > 0)
+                .max(Comparator.naturalOrder())
+                .map(Version::toString)
+                .orElse(null);
+    }
+
+    @Benchmark
+    public String selectFromVersionList() {
+        return range.selectFrom(versions);
+    }
+
+    @Benchmark
+    public String selectFromMetadata() {
+        return range.selectFrom(metadata);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(VersionSelectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
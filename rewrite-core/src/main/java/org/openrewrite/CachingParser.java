@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.openrewrite.internal.MetricsHelper;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Looks up each input in a {@link ParseCache} before parsing it, and parses the misses with a delegate parser.
+ * <p>
+ * Inputs are keyed by their content and relative path, the parser options and a fingerprint of the classpath.
+ * Unless the source files are independent of one another, the key also includes a fingerprint of the content and
+ * paths of every input in the source set, since e.g. the type attribution of a Java source file depends on the other
+ * source files parsed alongside it. A change to any input of such a source set is then a miss for all of them, and
+ * when anything misses the delegate is given every input, so that the misses can refer to what is declared in the
+ * hits. The hits are still returned from the cache.
+ * <p>
+ * Synthetic inputs have no stable path, so they are always parsed.
+ *
+ * @param <S> The type of source file parsed.
+ */
+@Incubating(since = "7.12.0")
+public class CachingParser<S extends SourceFile> implements Parser<S> {
+    private final Parser<S> delegate;
+    private final ParseCache<S> cache;
+    private final String fileType;
+    private final byte[] parserOptions;
+    private final byte[] classpathFingerprint;
+    private final boolean independentSources;
+
+    /**
+     * A cache for source files that depend on the other source files parsed alongside them.
+     *
+     * @see #CachingParser(Parser, ParseCache, String, String, Collection, boolean)
+     */
+    public CachingParser(Parser<S> delegate, ParseCache<S> cache, String fileType, String parserOptions,
+                         @Nullable Collection<Path> classpath) {
+        this(delegate, cache, fileType, parserOptions, classpath, false);
+    }
+
+    /**
+     * @param delegate           The parser that parses cache misses.
+     * @param cache              The cache to look inputs up in and store parsed source files to.
+     * @param fileType           Tags the cache metrics, as with the {@code rewrite.parse} timers, e.g. "Java".
+     * @param parserOptions      Everything about the delegate parser's configuration that affects the source files
+     *                           it produces, e.g. its charset and styles.
+     * @param classpath          The classpath the delegate parser resolves types against.
+     * @param independentSources Whether the source file parsed from an input is unaffected by the other inputs parsed
+     *                           alongside it, as with plain text, so that each input is cached on its own.
+     */
+    public CachingParser(Parser<S> delegate, ParseCache<S> cache, String fileType, String parserOptions,
+                         @Nullable Collection<Path> classpath, boolean independentSources) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.fileType = fileType;
+        this.parserOptions = parserOptions.getBytes(StandardCharsets.UTF_8);
+        this.classpathFingerprint = ParseCache.classpathFingerprint(classpath);
+        this.independentSources = independentSources;
+    }
+
+    @Override
+    public List<S> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
+        List<Input> inputs = acceptedInputs(sources);
+        Map<Input, byte[]> contents = new HashMap<>();
+        for (Input input : inputs) {
+            if (!input.isSynthetic()) {
+                contents.put(input, readFully(input));
+            }
+        }
+        byte[] sourceSetFingerprint = independentSources ? new byte[0] :
+                sourceSetFingerprint(inputs, contents, relativeTo);
+
+        Map<Input, S> hits = new HashMap<>();
+        Map<Path, String> keysOfMisses = new HashMap<>();
+        List<Input> misses = new ArrayList<>();
+
+        for (Input input : inputs) {
+            if (input.isSynthetic()) {
+                misses.add(input);
+                continue;
+            }
+
+            Timer.Sample sample = Timer.start();
+            byte[] content = contents.get(input);
+            Path relativePath = input.getRelativePath(relativeTo);
+            String key = ParseCache.key(content, relativePath.toString().getBytes(StandardCharsets.UTF_8),
+                    parserOptions, classpathFingerprint, sourceSetFingerprint);
+
+            S cached = cache.get(key);
+            sample.stop(MetricsHelper.successTags(
+                    Timer.builder("rewrite.parse.cache")
+                            .description("The time spent looking up a source file in the parse cache")
+                            .tag("file.type", fileType), cached == null ? "miss" : "hit")
+                    .register(Metrics.globalRegistry));
+
+            if (cached == null) {
+                keysOfMisses.put(relativePath, key);
+                misses.add(new Input(input.getPath(), () -> new ByteArrayInputStream(content)));
+            } else {
+                hits.put(input, cached);
+            }
+        }
+
+        Map<Path, S> parsedBySourcePath = new HashMap<>();
+        if (!misses.isEmpty()) {
+            List<Input> toParse = misses;
+            if (!independentSources && !hits.isEmpty()) {
+                // the misses may refer to what is declared in the hits
+                toParse = new ArrayList<>(inputs.size());
+                for (Input input : inputs) {
+                    byte[] content = contents.get(input);
+                    toParse.add(content == null ? input :
+                            new Input(input.getPath(), () -> new ByteArrayInputStream(content)));
+                }
+            }
+            for (S parsed : delegate.parseInputs(toParse, relativeTo, ctx)) {
+                parsedBySourcePath.put(parsed.getSourcePath(), parsed);
+                String key = keysOfMisses.get(parsed.getSourcePath());
+                if (key != null) {
+                    try {
+                        cache.put(key, parsed);
+                    } catch (UncheckedIOException e) {
+                        ctx.getOnError().accept(e);
+                    }
+                }
+            }
+        }
+
+        List<S> sourceFiles = new ArrayList<>(inputs.size());
+        for (Input input : inputs) {
+            S sourceFile = hits.get(input);
+            if (sourceFile == null) {
+                sourceFile = parsedBySourcePath.get(input.getRelativePath(relativeTo));
+            }
+            if (sourceFile != null) {
+                sourceFiles.add(sourceFile);
+            }
+        }
+        return sourceFiles;
+    }
+
+    @Override
+    public boolean accept(Path path) {
+        return delegate.accept(path);
+    }
+
+    @Override
+    public boolean accept(Input input) {
+        return delegate.accept(input);
+    }
+
+    @Override
+    public Parser<S> reset() {
+        delegate.reset();
+        return this;
+    }
+
+    private static byte[] sourceSetFingerprint(List<Input> inputs, Map<Input, byte[]> contents,
+                                               @Nullable Path relativeTo) {
+        List<String> entries = new ArrayList<>(contents.size());
+        for (Input input : inputs) {
+            byte[] content = contents.get(input);
+            if (content != null) {
+                entries.add(input.getRelativePath(relativeTo) + ";" + ParseCache.key(content));
+            }
+        }
+        // independent of the order the inputs are given in
+        Collections.sort(entries);
+        return String.join("\n", entries).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readFully(Input input) {
+        try (InputStream in = input.getSource()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
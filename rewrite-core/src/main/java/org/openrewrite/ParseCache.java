@@ -0,0 +1,211 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An on-disk store of serialized source files, addressed by a hash of everything that determines the result of
+ * parsing them: their content and path, the options of the parser, the classpath it resolves types against and, for
+ * source files that depend on one another, the rest of the source set they are parsed with.
+ * <p>
+ * Each entry is a file in the cache directory written by {@link TreeSerializer}. Entries are written to a temporary
+ * file and atomically moved into place, so concurrent readers and writers (even in other processes) never observe
+ * a partially written entry. An entry's last modified time is bumped whenever it is read, so {@link #evict(long, Duration)}
+ * removes the least recently used entries first.
+ *
+ * @param <S> The type of source file stored.
+ */
+@Incubating(since = "7.12.0")
+public class ParseCache<S extends SourceFile> {
+    private static final String ENTRY_SUFFIX = ".lst";
+
+    private final Path cacheDir;
+    private final TreeSerializer<S> serializer = new TreeSerializer<>();
+
+    public ParseCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+        try {
+            Files.createDirectories(cacheDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nullable
+    public S get(String key) {
+        Path entry = cacheDir.resolve(key + ENTRY_SUFFIX);
+        try (InputStream in = Files.newInputStream(entry)) {
+            S sourceFile = serializer.read(in);
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+            return sourceFile;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | UncheckedIOException e) {
+            // a corrupt or unreadable entry is a miss, and will be overwritten when the source is parsed again
+            return null;
+        }
+    }
+
+    public void put(String key, S sourceFile) {
+        try {
+            Path temp = Files.createTempFile(cacheDir, key, ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    serializer.write(sourceFile, out);
+                }
+                Files.move(temp, cacheDir.resolve(key + ENTRY_SUFFIX), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Remove every entry not read or written within {@code maxAge}, and then the least recently used entries
+     * until the cache takes up no more than {@code maxBytes}.
+     *
+     * @param maxBytes The maximum total size of the entries that remain.
+     * @param maxAge   The maximum time since an entry that remains was last used.
+     */
+    public void evict(long maxBytes, Duration maxAge) {
+        Instant oldest = Instant.now().minus(maxAge);
+        List<Entry> entries = entries();
+        entries.sort(Comparator.comparing(e -> e.lastModified));
+
+        long totalBytes = entries.stream().mapToLong(e -> e.size).sum();
+        for (Entry entry : entries) {
+            if (totalBytes <= maxBytes && !entry.lastModified.toInstant().isBefore(oldest)) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.path);
+                totalBytes -= entry.size;
+            } catch (IOException ignored) {
+                // in use or already removed by another process
+            }
+        }
+    }
+
+    public long size() {
+        return entries().stream().mapToLong(e -> e.size).sum();
+    }
+
+    private List<Entry> entries() {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            List<Entry> entries = new ArrayList<>();
+            for (Path path : files.filter(p -> p.getFileName().toString().endsWith(ENTRY_SUFFIX)).collect(toList())) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    entries.add(new Entry(path, attributes.size(), attributes.lastModifiedTime()));
+                } catch (NoSuchFileException ignored) {
+                    // evicted concurrently
+                }
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param parts Everything that determines the result of parsing a source file.
+     * @return A hex encoded SHA-256 hash of the parts.
+     */
+    public static String key(byte[]... parts) {
+        MessageDigest digest = sha256();
+        for (byte[] part : parts) {
+            // length prefixed, so that different splits of the same bytes hash differently
+            digest.update(Integer.toString(part.length).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(part);
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A fingerprint of a classpath that changes when any entry is added, removed, replaced or modified. Entries are
+     * fingerprinted by path, size and last modified time rather than content, so this is cheap enough to compute
+     * on every parse.
+     *
+     * @param classpath The classpath a parser resolves types against.
+     * @return A fingerprint suitable to be one of the parts of a {@link #key(byte[]...)}.
+     */
+    public static byte[] classpathFingerprint(@Nullable Collection<Path> classpath) {
+        if (classpath == null) {
+            return new byte[0];
+        }
+        StringBuilder fingerprint = new StringBuilder();
+        for (Path entry : classpath) {
+            fingerprint.append(entry).append(';');
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                fingerprint.append(attributes.size()).append(';').append(attributes.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                fingerprint.append("missing");
+            }
+            fingerprint.append('\n');
+        }
+        return fingerprint.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every Java platform", e);
+        }
+    }
+
+    private static class Entry {
+        private final Path path;
+        private final long size;
+        private final FileTime lastModified;
+
+        private Entry(Path path, long size, FileTime lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.joining;
@@ -225,6 +226,27 @@ public abstract class Recipe {
         return before;
     }
 
+    /**
+     * @return {@code true} when this recipe can only run against the complete set of source files at once, either
+     * because it has an {@link #getApplicableTest() applicability test} that considers every source file or because
+     * it overrides {@link #visit(List, ExecutionContext)} to add or delete source files.
+     */
+    @Incubating(since = "7.12.0")
+    public final boolean requiresAllSourceFiles() {
+        if (getApplicableTest() != null) {
+            return true;
+        }
+        for (Class<?> c = getClass(); c != Recipe.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("visit", List.class, ExecutionContext.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // keep looking up the class hierarchy
+            }
+        }
+        return false;
+    }
+
     public final List<Result> run(List<? extends SourceFile> before) {
         return run(before, new InMemoryExecutionContext());
     }
@@ -246,6 +268,29 @@ public abstract class Recipe {
         return recipeScheduler.scheduleRun(this, before, ctx, maxCycles, minCycles);
     }
 
+    /**
+     * Runs this recipe one source file at a time, without ever holding the whole set of source files in memory.
+     *
+     * @param before   Supplies the source files to run the recipe on.
+     * @param ctx      The execution context.
+     * @param onResult Receives a result for each source file that is changed or deleted.
+     * @see RecipeScheduler#scheduleStreamingRun(Recipe, Iterator, ExecutionContext, int, int, Consumer)
+     */
+    @Incubating(since = "7.12.0")
+    public final void run(Iterator<? extends SourceFile> before, ExecutionContext ctx, Consumer<Result> onResult) {
+        run(before, ctx, ForkJoinScheduler.common(), 3, 1, onResult);
+    }
+
+    @Incubating(since = "7.12.0")
+    public final void run(Iterator<? extends SourceFile> before,
+                          ExecutionContext ctx,
+                          RecipeScheduler recipeScheduler,
+                          int maxCycles,
+                          int minCycles,
+                          Consumer<Result> onResult) {
+        recipeScheduler.scheduleStreamingRun(this, before, ctx, maxCycles, minCycles, onResult);
+    }
+
     @SuppressWarnings("unused")
     @Incubating(since = "7.0.0")
     public Validated validate(ExecutionContext ctx) {
@@ -20,6 +20,7 @@ import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.MetricsHelper;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.scheduling.WatchableExecutionContext;
 
 import java.time.Duration;
@@ -27,12 +28,14 @@ import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 import static org.openrewrite.Recipe.MARKER_ID_PRINTER;
@@ -40,6 +43,12 @@ import static org.openrewrite.Recipe.PANIC;
 
 public interface RecipeScheduler {
     default <T> List<T> mapAsync(List<T> input, UnaryOperator<T> mapFn) {
+        if (input.size() == 1) {
+            // nothing to run alongside it, so scheduling would only hand it to another thread while this one waits,
+            // and from within an already scheduled task could wait on a thread this task is holding
+            return ListUtils.map(input, mapFn);
+        }
+
         @SuppressWarnings("unchecked") CompletableFuture<T>[] futures =
                 new CompletableFuture[input.size()];
 
@@ -122,6 +131,129 @@ public interface RecipeScheduler {
         return results;
     }
 
+    /**
+     * Runs a recipe one source file at a time, pulling source files from {@code before} only as fast as they can be
+     * processed and handing each {@link Result} to {@code onResult} as soon as every cycle has completed for that
+     * source file. Only the source files currently in flight are held by the scheduler, so memory is bounded by
+     * concurrency rather than by the number of source files. Results are emitted in the order that source files
+     * are supplied.
+     * <p>
+     * Because each source file runs through all of its cycles in isolation, messages that visitors leave on the
+     * {@link ExecutionContext} are only visible to source files that are visited afterwards.
+     * <p>
+     * When the recipe or any recipe in its {@link Recipe#getRecipeList() recipe list}
+     * {@link Recipe#requiresAllSourceFiles() requires all source files} at once, the remaining source files are
+     * drained into a list and run with {@link #scheduleRun(Recipe, List, ExecutionContext, int, int)}, and results
+     * are only emitted after that batch run completes.
+     *
+     * @param recipe    The recipe to run.
+     * @param before    Supplies the source files to run the recipe on.
+     * @param ctx       The execution context.
+     * @param maxCycles The maximum number of cycles run on any one source file.
+     * @param minCycles The minimum number of cycles run on every source file.
+     * @param onResult  Receives a result for each source file that is changed or deleted.
+     */
+    @Incubating(since = "7.12.0")
+    default void scheduleStreamingRun(Recipe recipe,
+                                      Iterator<? extends SourceFile> before,
+                                      ExecutionContext ctx,
+                                      int maxCycles,
+                                      int minCycles,
+                                      Consumer<Result> onResult) {
+        Deque<Recipe> recipes = new ArrayDeque<>();
+        recipes.push(recipe);
+        while (!recipes.isEmpty()) {
+            Recipe r = recipes.pop();
+            if (r.requiresAllSourceFiles()) {
+                List<SourceFile> batch = new ArrayList<>();
+                before.forEachRemaining(batch::add);
+                for (Result result : scheduleRun(recipe, batch, ctx, maxCycles, minCycles)) {
+                    onResult.accept(result);
+                }
+                return;
+            }
+            r.getRecipeList().forEach(recipes::push);
+        }
+
+        int maxInFlight = Runtime.getRuntime().availableProcessors() * 2;
+        Deque<CompletableFuture<Optional<Result>>> inFlight = new ArrayDeque<>(maxInFlight);
+        int sourceFileCount = 0;
+        try {
+            while (before.hasNext()) {
+                SourceFile s = before.next();
+                inFlight.add(schedule(() -> Optional.ofNullable(scheduleStreamingVisit(recipe, s, ctx, maxCycles, minCycles))));
+                sourceFileCount++;
+                if (inFlight.size() >= maxInFlight) {
+                    inFlight.remove().join().ifPresent(onResult);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                inFlight.remove().join().ifPresent(onResult);
+            }
+        } catch (RuntimeException | Error e) {
+            // stop pulling source files, but wait out those already scheduled so that none is still being visited
+            // once the failure reaches the caller
+            for (CompletableFuture<Optional<Result>> f : inFlight) {
+                try {
+                    f.join();
+                } catch (RuntimeException | Error ignored) {
+                    // only the first failure is reported
+                }
+            }
+            throw e;
+        }
+
+        DistributionSummary.builder("rewrite.recipe.run")
+                .tag("recipe", recipe.getDisplayName())
+                .description("The distribution of recipe runs and the size of source file batches given to them to process.")
+                .baseUnit("source files")
+                .register(Metrics.globalRegistry)
+                .record(sourceFileCount);
+    }
+
+    /**
+     * Runs every cycle of a recipe on a single source file, visiting it with this scheduler's
+     * {@link #scheduleVisit(Recipe, List, ExecutionContext, Map)}.
+     *
+     * @return The result for this source file, or {@code null} if the source file was not changed.
+     */
+    @Incubating(since = "7.12.0")
+    @Nullable
+    default Result scheduleStreamingVisit(Recipe recipe,
+                                          SourceFile before,
+                                          ExecutionContext ctx,
+                                          int maxCycles,
+                                          int minCycles) {
+        Map<UUID, Recipe> recipeThatDeletedSourceFile = new HashMap<>();
+        List<SourceFile> acc = singletonList(before);
+        List<SourceFile> after = acc;
+
+        WatchableExecutionContext ctxWithWatch = new WatchableExecutionContext(ctx);
+        for (int i = 0; i < maxCycles; i++) {
+            after = scheduleVisit(recipe, acc, ctxWithWatch, recipeThatDeletedSourceFile);
+            if (after.isEmpty() || (i + 1 >= minCycles && ((after == acc && !ctxWithWatch.hasNewMessages()) || !recipe.causesAnotherCycle()))) {
+                break;
+            }
+            acc = after;
+            ctxWithWatch.resetHasNewMessages();
+        }
+
+        if (after.isEmpty()) {
+            return new Result(before, null, singleton(recipeThatDeletedSourceFile.get(before.getId())));
+        }
+
+        SourceFile s = after.get(0);
+        if (s != before && (!before.getSourcePath().equals(s.getSourcePath()) ||
+                !before.print(MARKER_ID_PRINTER, ctx).equals(s.print(MARKER_ID_PRINTER, ctx)))) {
+            return new Result(before, s, s.getMarkers()
+                    .findFirst(Recipe.RecipeThatMadeChanges.class)
+                    .orElseThrow(() -> new IllegalStateException("SourceFile changed but no recipe reported making a change?"))
+                    .getRecipes());
+        }
+
+        return null;
+    }
+
     default <S extends SourceFile> List<S> scheduleVisit(Recipe recipe,
                                                          List<S> before,
                                                          ExecutionContext ctx,
@@ -18,26 +18,36 @@ package org.openrewrite;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openrewrite.internal.lang.Nullable;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.UncheckedIOException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.List;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
 
 public class TreeSerializer<S extends SourceFile> {
     private final TypeReference<S> sourceType = new TypeReference<S>() {
@@ -46,9 +56,31 @@ public class TreeSerializer<S extends SourceFile> {
     private final TypeReference<List<S>> sourceListType = new TypeReference<List<S>>() {
     };
 
+    private static final byte[] CONTAINER_MAGIC = "RWLST\u0001".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The attribute under which the {@link TypeTable} of a container is made available to (de)serializers.
+     */
+    private static final Object TYPE_TABLE = TypeTable.class;
+
     private final ObjectMapper mapper;
 
+    @Nullable
+    private final Class<?> sharedType;
+
     public TreeSerializer() {
+        this(null);
+    }
+
+    /**
+     * @param sharedType The base type of values, like {@code JavaType}, that are commonly referenced by many source
+     *                   files. When written to a {@link #newContainerWriter(OutputStream) container}, each distinct
+     *                   value is written once to a type table rather than once per source file.
+     */
+    @Incubating(since = "7.12.0")
+    public TreeSerializer(@Nullable Class<?> sharedType) {
+        this.sharedType = sharedType;
+
         SmileFactory f = new SmileFactory();
         f.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
 
@@ -59,6 +91,7 @@ public class TreeSerializer<S extends SourceFile> {
                 .build()
                 .registerModule(new RelativePathModule())
                 .registerModule(new ParameterNamesModule())
+                .registerModule(new SharedTypeModule(sharedType))
                 .configure(MapperFeature.PROPAGATE_TRANSIENT_MARKER, true)
                 .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL);
@@ -134,6 +167,319 @@ public class TreeSerializer<S extends SourceFile> {
         }
     }
 
+    /**
+     * Write source files one at a time to a container, which can later be read back a source file at a time with
+     * {@link #readContainer(Path)}. A container is laid out as:
+     * <pre>
+     * magic | source file* | type table | index | index offset
+     * </pre>
+     * Each source file is a self-contained Smile document, in which any value of the {@link #TreeSerializer(Class) shared type}
+     * is written as a reference into the type table. The index, read first, maps each source path to the offset and
+     * length of its source file.
+     *
+     * @param out The stream to write to. It is closed when the container is closed.
+     * @return A writer which must be closed to complete the container.
+     */
+    @Incubating(since = "7.12.0")
+    public ContainerWriter newContainerWriter(OutputStream out) {
+        return new ContainerWriter(out);
+    }
+
+    /**
+     * @param container A file written by a {@link ContainerWriter}.
+     * @return A reader that memory maps and deserializes source files only as they are asked for.
+     */
+    @Incubating(since = "7.12.0")
+    public ContainerReader readContainer(Path container) {
+        return new ContainerReader(container);
+    }
+
+    public class ContainerWriter implements Closeable {
+        private final DataOutputStream out;
+        private final Map<String, long[]> index = new LinkedHashMap<>();
+        private final TypeTable typeTable = new TypeTable();
+        private final ObjectWriter writer = mapper.writer().withAttribute(TYPE_TABLE, typeTable);
+        private long offset;
+
+        private ContainerWriter(OutputStream out) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out));
+            write(CONTAINER_MAGIC);
+        }
+
+        public void write(S source) {
+            String sourcePath = source.getSourcePath().toString();
+            if (index.containsKey(sourcePath)) {
+                throw new IllegalArgumentException("A source file with path " + sourcePath + " has already been written");
+            }
+            try {
+                index.put(sourcePath, new long[]{offset, write(writer.writeValueAsBytes(source))});
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                long typesOffset = offset;
+                int typesLength = sharedType == null ? 0 : write(mapper
+                        .writerFor(mapper.getTypeFactory().constructCollectionType(List.class, sharedType))
+                        .writeValueAsBytes(typeTable.values));
+
+                long indexOffset = offset;
+                out.writeLong(typesOffset);
+                out.writeInt(typesLength);
+                out.writeInt(index.size());
+                for (Map.Entry<String, long[]> entry : index.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue()[0]);
+                    out.writeInt((int) entry.getValue()[1]);
+                }
+                out.writeLong(indexOffset);
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int write(byte[] bytes) {
+            try {
+                out.write(bytes);
+                offset += bytes.length;
+                return bytes.length;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public class ContainerReader implements Closeable {
+        private final FileChannel channel;
+        private final Map<Path, long[]> index = new LinkedHashMap<>();
+        private final long typesOffset;
+        private final int typesLength;
+
+        @Nullable
+        private volatile ObjectReader reader;
+
+        private ContainerReader(Path container) {
+            try {
+                this.channel = FileChannel.open(container, StandardOpenOption.READ);
+
+                ByteBuffer header = map(0, CONTAINER_MAGIC.length);
+                for (byte b : CONTAINER_MAGIC) {
+                    if (header.get() != b) {
+                        throw new IllegalArgumentException(container + " is not a source file container");
+                    }
+                }
+
+                long indexOffset = map(channel.size() - Long.BYTES, Long.BYTES).getLong();
+                try (DataInputStream in = new DataInputStream(new ByteBufferBackedInputStream(
+                        map(indexOffset, channel.size() - Long.BYTES - indexOffset)))) {
+                    this.typesOffset = in.readLong();
+                    this.typesLength = in.readInt();
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        index.put(Paths.get(in.readUTF()), new long[]{in.readLong(), in.readInt()});
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @return The source paths of every source file in the container, in the order they were written.
+         */
+        public Set<Path> getSourcePaths() {
+            return Collections.unmodifiableSet(index.keySet());
+        }
+
+        @Nullable
+        public S read(Path sourcePath) {
+            long[] location = index.get(sourcePath);
+            if (location == null) {
+                return null;
+            }
+            try (InputStream in = new ByteBufferBackedInputStream(map(location[0], location[1]))) {
+                return reader().readValue(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public List<S> readAll() {
+            List<S> sources = new ArrayList<>(index.size());
+            for (Path sourcePath : index.keySet()) {
+                sources.add(read(sourcePath));
+            }
+            return sources;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * The type table is only deserialized once the first source file is read.
+         */
+        private ObjectReader reader() throws IOException {
+            ObjectReader r = reader;
+            if (r == null) {
+                synchronized (this) {
+                    r = reader;
+                    if (r == null) {
+                        TypeTable typeTable = new TypeTable();
+                        if (sharedType != null && typesLength > 0) {
+                            try (InputStream in = new ByteBufferBackedInputStream(map(typesOffset, typesLength))) {
+                                typeTable.values.addAll(mapper
+                                        .readerFor(mapper.getTypeFactory().constructCollectionType(List.class, sharedType))
+                                        .readValue(in));
+                            }
+                        }
+                        r = mapper.readerFor(sourceType).withAttribute(TYPE_TABLE, typeTable);
+                        reader = r;
+                    }
+                }
+            }
+            return r;
+        }
+
+        private ByteBuffer map(long position, long length) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        }
+    }
+
+    private static class TypeTable {
+        private final Map<Object, Integer> indices = new IdentityHashMap<>();
+        private final List<Object> values = new ArrayList<>();
+
+        int indexOf(Object value) {
+            return indices.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Inside a container, values of the shared type are (de)serialized as a reference into the container's type table.
+     * Outside of one they are (de)serialized as usual.
+     */
+    private static class SharedTypeModule extends SimpleModule {
+        private static final String TYPE_INDEX = "@t";
+
+        public SharedTypeModule(@Nullable Class<?> sharedType) {
+            if (sharedType == null) {
+                return;
+            }
+
+            setSerializerModifier(new BeanSerializerModifier() {
+                @Override
+                public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                          JsonSerializer<?> serializer) {
+                    return sharedType.isAssignableFrom(beanDesc.getBeanClass()) ?
+                            new SharedTypeSerializer(serializer) : serializer;
+                }
+            });
+
+            setDeserializerModifier(new BeanDeserializerModifier() {
+                @Override
+                public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                              JsonDeserializer<?> deserializer) {
+                    return sharedType.isAssignableFrom(beanDesc.getBeanClass()) ?
+                            new SharedTypeDeserializer(deserializer) : deserializer;
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static class SharedTypeSerializer extends StdSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+            private final JsonSerializer<Object> delegate;
+
+            SharedTypeSerializer(JsonSerializer<?> delegate) {
+                super(Object.class);
+                this.delegate = (JsonSerializer<Object>) delegate;
+            }
+
+            @Override
+            public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                TypeTable typeTable = (TypeTable) provider.getAttribute(TYPE_TABLE);
+                if (typeTable == null) {
+                    delegate.serialize(value, gen, provider);
+                    return;
+                }
+                gen.writeStartObject(value);
+                gen.writeNumberField(TYPE_INDEX, typeTable.indexOf(value));
+                gen.writeEndObject();
+            }
+
+            @Override
+            public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                          TypeSerializer typeSer) throws IOException {
+                TypeTable typeTable = (TypeTable) provider.getAttribute(TYPE_TABLE);
+                if (typeTable == null) {
+                    delegate.serializeWithType(value, gen, provider, typeSer);
+                    return;
+                }
+                WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(value, JsonToken.START_OBJECT));
+                gen.writeNumberField(TYPE_INDEX, typeTable.indexOf(value));
+                typeSer.writeTypeSuffix(gen, typeId);
+            }
+
+            @Override
+            public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+                if (delegate instanceof ContextualSerializer) {
+                    JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(prov, property);
+                    if (contextual != delegate) {
+                        return new SharedTypeSerializer(contextual);
+                    }
+                }
+                return this;
+            }
+
+            @Override
+            public void resolve(SerializerProvider provider) throws JsonMappingException {
+                if (delegate instanceof ResolvableSerializer) {
+                    ((ResolvableSerializer) delegate).resolve(provider);
+                }
+            }
+        }
+
+        private static class SharedTypeDeserializer extends DelegatingDeserializer {
+            SharedTypeDeserializer(JsonDeserializer<?> delegate) {
+                super(delegate);
+            }
+
+            @Override
+            protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+                return new SharedTypeDeserializer(newDelegatee);
+            }
+
+            @Override
+            public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                TypeTable typeTable = (TypeTable) ctxt.getAttribute(TYPE_TABLE);
+                if (typeTable != null) {
+                    if (p.hasToken(JsonToken.START_OBJECT)) {
+                        p.nextToken();
+                    }
+                    if (p.hasToken(JsonToken.FIELD_NAME) && TYPE_INDEX.equals(p.currentName())) {
+                        p.nextToken();
+                        Object value = typeTable.values.get(p.getIntValue());
+                        p.nextToken(); // END_OBJECT
+                        return value;
+                    }
+                }
+                return super.deserialize(p, ctxt);
+            }
+        }
+    }
+
     private static class RelativePathModule extends SimpleModule {
         public RelativePathModule() {
             addSerializer(new RelativePathSerializer());
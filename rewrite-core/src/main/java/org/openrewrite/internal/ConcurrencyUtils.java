@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class ConcurrencyUtils {
+    private ConcurrencyUtils() {
+    }
+
+    /**
+     * @param threads The number of threads in the pool.
+     * @param name    The name given to each thread.
+     * @return A fixed size pool of daemon threads, which never keeps the JVM from exiting, so that a pool held
+     * statically for the life of the process needn't be shut down.
+     */
+    public static ExecutorService newDaemonThreadPool(int threads, String name) {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Waits for a future to complete, rethrowing a runtime exception that it completed with as is rather than
+     * wrapped in a {@link CompletionException}, as if the work had been done on the calling thread.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Looks up a value in a cache of futures, computing it at most once at a time: concurrent lookups of a key that
+     * is being computed wait for it rather than compute it again. The value is computed on the calling thread, outside
+     * of any lock held by the cache, so computing one key never blocks lookups of another.
+     *
+     * @param lookup  Returns the future the cache holds for the key, first registering the one it is given when the
+     *                cache holds none, e.g. {@code future -> asyncCache.get(key, (k, executor) -> future.get())}.
+     * @param compute Computes the value when this lookup registered the future for it.
+     * @param failed  The value cached when the computation fails, or {@code null} to cache nothing, so that the next
+     *                lookup computes it again. Either way, the failure is only thrown to this caller.
+     * @return The value, and whether this lookup computed it.
+     */
+    public static <V, E extends Throwable> Computed<V> computeOnce(
+            Function<Supplier<CompletableFuture<V>>, CompletableFuture<V>> lookup,
+            Computation<V, E> compute, @Nullable V failed) throws E {
+        List<CompletableFuture<V>> computing = new ArrayList<>(1);
+        CompletableFuture<V> cached = lookup.apply(() -> {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            computing.add(future);
+            return future;
+        });
+
+        if (computing.isEmpty()) {
+            return new Computed<>(join(cached), false);
+        }
+
+        V value;
+        try {
+            value = compute.compute();
+        } catch (Throwable t) {
+            if (failed == null) {
+                computing.get(0).completeExceptionally(t);
+            } else {
+                computing.get(0).complete(failed);
+            }
+            throw t;
+        }
+        computing.get(0).complete(value);
+        return new Computed<>(value, true);
+    }
+
+    @FunctionalInterface
+    public interface Computation<V, E extends Throwable> {
+        V compute() throws E;
+    }
+
+    public static class Computed<V> {
+        private final V value;
+        private final boolean computed;
+
+        private Computed(V value, boolean computed) {
+            this.value = value;
+            this.computed = computed;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * @return Whether the value was computed by this lookup rather than by an earlier or concurrent one,
+         * in which case nothing else has seen it yet.
+         */
+        public boolean isComputed() {
+            return computed;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe table of flyweights keyed by string, i.e. the whitespace of the {@code Space} of each language.
+ * <p>
+ * Values are weakly referenced, so a flyweight no longer used by any tree is collected along with its entry.
+ * Reads are lock-free and writes lock only the bin of the key being interned. Keys longer than {@code maxKeyLength},
+ * which are unlikely to repeat, and any key once the table holds {@code maxSize} entries, are not interned at all.
+ *
+ * @param <V> The flyweight type.
+ */
+public class WeakInterner<V> {
+    private final ConcurrentHashMap<String, ValueReference<V>> table = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+    private final int maxKeyLength;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param name         Tags the {@code rewrite.intern} metrics of this table, e.g. "java.space".
+     * @param maxKeyLength Keys longer than this are not interned.
+     * @param maxSize      The maximum number of entries.
+     */
+    public WeakInterner(String name, int maxKeyLength, int maxSize) {
+        this.maxKeyLength = maxKeyLength;
+        this.maxSize = maxSize;
+
+        FunctionCounter.builder("rewrite.intern", hits, LongAdder::doubleValue)
+                .description("Interned values found in the table")
+                .tag("name", name)
+                .tag("outcome", "hit")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("rewrite.intern", misses, LongAdder::doubleValue)
+                .description("Interned values that had to be created")
+                .tag("name", name)
+                .tag("outcome", "miss")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("rewrite.intern.size", table, ConcurrentHashMap::size)
+                .description("The number of entries in the table")
+                .tag("name", name)
+                .register(Metrics.globalRegistry);
+    }
+
+    public V intern(String key, Function<String, V> create) {
+        ValueReference<V> ref = table.get(key);
+        V value = ref == null ? null : ref.get();
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        expungeCollected();
+
+        V created = create.apply(key);
+        if (key.length() > maxKeyLength || (ref == null && table.size() >= maxSize)) {
+            return created;
+        }
+
+        // the strong reference to created keeps a newly inserted reference from being cleared before it is returned
+        ValueReference<V> interned = table.compute(key, (k, existing) -> existing != null && existing.get() != null ?
+                existing : new ValueReference<>(k, created, collected));
+        value = interned.get();
+        return value == null ? created : value;
+    }
+
+    public int size() {
+        expungeCollected();
+        return table.size();
+    }
+
+    public void clear() {
+        table.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeCollected() {
+        ValueReference<V> ref;
+        while ((ref = (ValueReference<V>) collected.poll()) != null) {
+            table.remove(ref.key, ref);
+        }
+    }
+
+    private static class ValueReference<V> extends WeakReference<V> {
+        private final String key;
+
+        ValueReference(String key, V value, @Nullable ReferenceQueue<? super V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.RecipeScheduler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs every scheduled unit of work on the calling thread. Useful when the caller is already running on a
+ * worker thread and doesn't want to fan out any further.
+ */
+public class DirectScheduler implements RecipeScheduler {
+    private static final DirectScheduler COMMON_SCHEDULER = new DirectScheduler();
+
+    public static DirectScheduler common() {
+        return COMMON_SCHEDULER;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> schedule(Callable<T> fn) {
+        CompletableFuture<T> f = new CompletableFuture<>();
+        try {
+            f.complete(fn.call());
+        } catch (Throwable t) {
+            f.completeExceptionally(t);
+        }
+        return f;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.scheduling;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Incubating;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Instead of waiting for every source file to finish one recipe before any source file starts on the next,
+ * each source file is sent through an entire recipe tree as a single unit of work, so that a slow source file
+ * doesn't hold up the rest.
+ * <p>
+ * A recipe tree is only split into recipe-by-recipe steps where some recipe in it
+ * {@link Recipe#requiresAllSourceFiles() requires all source files} at once. Such a recipe, and every recipe above it,
+ * visits the whole set of source files before moving on, while any sub-recipe whose own tree doesn't need all
+ * source files is once again pipelined per source file.
+ * <p>
+ * Run timeouts for pipelined recipe trees are measured per source file rather than for the whole set of source files.
+ */
+@Incubating(since = "7.12.0")
+public class PipelinedForkJoinScheduler extends ForkJoinScheduler {
+    private static final PipelinedForkJoinScheduler COMMON_SCHEDULER = new PipelinedForkJoinScheduler(
+            ForkJoinScheduler.common().getForkJoinPool());
+
+    public PipelinedForkJoinScheduler(ForkJoinPool forkJoinPool) {
+        super(forkJoinPool);
+    }
+
+    public static PipelinedForkJoinScheduler common() {
+        return COMMON_SCHEDULER;
+    }
+
+    @Override
+    public <S extends SourceFile> List<S> scheduleVisit(Recipe recipe,
+                                                        List<S> before,
+                                                        ExecutionContext ctx,
+                                                        Map<UUID, Recipe> recipeThatDeletedSourceFile) {
+        if (requiresAllSourceFiles(recipe)) {
+            return super.scheduleVisit(recipe, before, ctx, recipeThatDeletedSourceFile);
+        }
+
+        return mapAsync(before, s -> {
+            Map<UUID, Recipe> deletedBy = new HashMap<>();
+            List<S> after = DirectScheduler.common().scheduleVisit(recipe, singletonList(s), ctx, deletedBy);
+            if (!deletedBy.isEmpty()) {
+                synchronized (recipeThatDeletedSourceFile) {
+                    recipeThatDeletedSourceFile.putAll(deletedBy);
+                }
+            }
+            return after.isEmpty() ? null : after.get(0);
+        });
+    }
+
+    private static boolean requiresAllSourceFiles(Recipe recipe) {
+        if (recipe.requiresAllSourceFiles()) {
+            return true;
+        }
+        for (Recipe r : recipe.getRecipeList()) {
+            if (requiresAllSourceFiles(r)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -16,29 +16,66 @@
 package org.openrewrite.semver;
 
 import org.openrewrite.Validated;
+import org.openrewrite.internal.WeakInterner;
 import org.openrewrite.internal.lang.Nullable;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static java.lang.Integer.parseInt;
 
 public class LatestRelease implements VersionComparator {
+    /**
+     * Versions parsed by any comparator, since the same versions listed in maven metadata are compared over and over.
+     */
+    private static final WeakInterner<ParsedVersion> parsedVersions = new WeakInterner<>("semver.version", 128, 100_000);
+
     @Nullable
     private final String metadataPattern;
 
+    @Nullable
+    private final Pattern compiledMetadataPattern;
+
     public LatestRelease(@Nullable String metadataPattern) {
         this.metadataPattern = metadataPattern;
+        this.compiledMetadataPattern = compile(metadataPattern);
+    }
+
+    /**
+     * An invalid metadata pattern is reported by {@link Semver#validate(String, String)}, so it must not fail
+     * construction.
+     */
+    @Nullable
+    private static Pattern compile(@Nullable String metadataPattern) {
+        if (metadataPattern == null) {
+            return null;
+        }
+        try {
+            return Pattern.compile(metadataPattern);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
     }
 
     @Override
     public boolean isValid(String version) {
-        Matcher matcher = VersionComparator.RELEASE_PATTERN.matcher(normalizeVersion(version));
-        if (!matcher.matches() || PRE_RELEASE_ENDING.matcher(version).find()) {
+        ParsedVersion parsed = parse(version);
+        if (!parsed.isRelease()) {
             return false;
         }
-        return metadataPattern == null ||
-                (matcher.group(4) != null && matcher.group(4).matches(metadataPattern));
+        if (metadataPattern == null) {
+            return true;
+        }
+        String metadata = parsed.group(4);
+        return metadata != null && (compiledMetadataPattern == null ?
+                metadata.matches(metadataPattern) :
+                compiledMetadataPattern.matcher(metadata).matches());
+    }
+
+    static ParsedVersion parse(String version) {
+        return parsedVersions.intern(version, ParsedVersion::new);
     }
 
     static String normalizeVersion(String version) {
@@ -71,14 +108,10 @@ public class LatestRelease implements VersionComparator {
         return version;
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     @Override
     public int compare(String v1, String v2) {
-        Matcher v1Gav = VersionComparator.RELEASE_PATTERN.matcher(normalizeVersion(v1));
-        Matcher v2Gav = VersionComparator.RELEASE_PATTERN.matcher(normalizeVersion(v2));
-
-        v1Gav.matches();
-        v2Gav.matches();
+        ParsedVersion v1Gav = parse(v1);
+        ParsedVersion v2Gav = parse(v2);
 
         for (int i = 1; i <= 3; i++) {
             String v1Part = v1Gav.group(i);
@@ -89,7 +122,7 @@ public class LatestRelease implements VersionComparator {
                 return 1;
             }
 
-            int diff = parseInt(v1Part) - parseInt(v2Part);
+            int diff = v1Gav.number(i) - v2Gav.number(i);
             if (diff != 0) {
                 return diff;
             }
@@ -103,4 +136,58 @@ public class LatestRelease implements VersionComparator {
                 Validated.valid("latestRelease", new LatestRelease(metadataPattern)) :
                 Validated.invalid("latestRelease", toVersion, "not a hyphen range");
     }
+
+    /**
+     * A version matched against {@link VersionComparator#RELEASE_PATTERN} once, with its numeric parts parsed.
+     */
+    static final class ParsedVersion {
+        @Nullable
+        private final String[] groups;
+
+        private final int[] numbers = new int[4];
+        private final boolean release;
+
+        ParsedVersion(String version) {
+            Matcher matcher = VersionComparator.RELEASE_PATTERN.matcher(normalizeVersion(version));
+            if (matcher.matches()) {
+                groups = new String[5];
+                for (int i = 1; i <= 4; i++) {
+                    groups[i] = matcher.group(i);
+                }
+                for (int i = 1; i <= 3; i++) {
+                    // a part too large for an int is left to fail in number(), where it is compared
+                    if (groups[i] != null && groups[i].length() < 10) {
+                        numbers[i] = parseInt(groups[i]);
+                    }
+                }
+                release = !PRE_RELEASE_ENDING.matcher(version).find();
+            } else {
+                groups = null;
+                release = false;
+            }
+        }
+
+        boolean isRelease() {
+            return release;
+        }
+
+        /**
+         * @param group A capturing group of {@link VersionComparator#RELEASE_PATTERN}.
+         * @return The text matched by the group.
+         * @throws IllegalStateException if the version does not match the release pattern at all.
+         */
+        @Nullable
+        String group(int group) {
+            if (groups == null) {
+                throw new IllegalStateException("No match found");
+            }
+            return groups[group];
+        }
+
+        int number(int group) {
+            String part = group(group);
+            assert part != null;
+            return part.length() < 10 ? numbers[group] : parseInt(part);
+        }
+    }
 }
@@ -15,7 +15,9 @@
  */
 package org.openrewrite.semver;
 
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 public interface VersionComparator extends Comparator<String> {
@@ -23,4 +25,21 @@ public interface VersionComparator extends Comparator<String> {
     Pattern PRE_RELEASE_ENDING = Pattern.compile("[.-](SNAPSHOT|RC|rc|M|m)\\d*$");
 
     boolean isValid(String version);
+
+    /**
+     * Select the greatest valid version in a single pass, like filtering by {@link #isValid(String)} and taking the
+     * max by this comparator. Of valid versions that compare equal, the first is selected.
+     *
+     * @param versions The candidate versions, e.g. those listed in maven metadata.
+     * @return The greatest valid version, if any are valid.
+     */
+    default Optional<String> select(Collection<String> versions) {
+        String selected = null;
+        for (String version : versions) {
+            if (isValid(version) && (selected == null || compare(selected, version) < 0)) {
+                selected = version;
+            }
+        }
+        return Optional.ofNullable(selected);
+    }
 }
@@ -39,7 +39,6 @@ public class XRange extends LatestRelease {
         this.patch = patch;
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     @Override
     public boolean isValid(String version) {
         if (!super.isValid(version)) {
@@ -50,8 +49,7 @@ public class XRange extends LatestRelease {
             return true;
         }
 
-        Matcher gav = VersionComparator.RELEASE_PATTERN.matcher(normalizeVersion(version));
-        gav.matches();
+        ParsedVersion gav = parse(version);
 
         if (!gav.group(1).equals(major)) {
             return false;
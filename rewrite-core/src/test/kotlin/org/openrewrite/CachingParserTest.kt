@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.openrewrite.text.PlainText
+import org.openrewrite.text.PlainTextParser
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.time.Duration
+
+class CachingParserTest {
+
+    private class CountingParser : Parser<PlainText> {
+        private val delegate = PlainTextParser()
+        var parsed = 0
+        var lastParsed = emptyList<Path>()
+
+        override fun parseInputs(sources: Iterable<Parser.Input>, relativeTo: Path?, ctx: ExecutionContext): List<PlainText> {
+            val plainTexts = delegate.parseInputs(sources, relativeTo, ctx)
+            parsed += plainTexts.size
+            lastParsed = plainTexts.map { it.sourcePath }
+            return plainTexts
+        }
+
+        override fun accept(path: Path): Boolean = true
+    }
+
+    private fun input(path: String, text: String) =
+        Parser.Input(Paths.get(path)) { text.byteInputStream() }
+
+    @Test
+    fun onlyMissesOfIndependentSourcesAreParsed(@TempDir cacheDir: Path) {
+        val counting = CountingParser()
+        val parser = CachingParser(counting, ParseCache(cacheDir), "PlainText", "", null, true)
+        val ctx = InMemoryExecutionContext { t -> throw t }
+
+        val first = parser.parseInputs(listOf(input("a.txt", "a"), input("b.txt", "b")), null, ctx)
+        assertThat(counting.parsed).isEqualTo(2)
+
+        val second = parser.parseInputs(listOf(input("a.txt", "a"), input("b.txt", "changed")), null, ctx)
+        assertThat(counting.parsed).isEqualTo(3)
+        assertThat(second.map { it.printTrimmed() }).containsExactly("a", "changed")
+        assertThat(second[0].id).isEqualTo(first[0].id)
+    }
+
+    @Test
+    fun changeToAnyInputOfADependentSourceSetIsAMissForAll(@TempDir cacheDir: Path) {
+        val counting = CountingParser()
+        val parser = CachingParser(counting, ParseCache(cacheDir), "PlainText", "", null)
+        val ctx = InMemoryExecutionContext { t -> throw t }
+
+        parser.parseInputs(listOf(input("a.txt", "a"), input("b.txt", "b")), null, ctx)
+        parser.parseInputs(listOf(input("b.txt", "b"), input("a.txt", "a")), null, ctx)
+        assertThat(counting.parsed).isEqualTo(2)
+
+        val changed = parser.parseInputs(listOf(input("a.txt", "a"), input("b.txt", "changed")), null, ctx)
+        assertThat(counting.parsed).isEqualTo(4)
+        assertThat(changed.map { it.printTrimmed() }).containsExactly("a", "changed")
+    }
+
+    @Test
+    fun hitsAreParsedAlongsideMissesOfADependentSourceSet(@TempDir cacheDir: Path) {
+        val counting = CountingParser()
+        val parser = CachingParser(counting, ParseCache(cacheDir), "PlainText", "", null)
+        val ctx = InMemoryExecutionContext { t -> throw t }
+
+        val first = parser.parseInputs(listOf(input("a.txt", "a"), input("b.txt", "b")), null, ctx)
+        val second = parser.parseInputs(listOf(input("a.txt", "a"), input("b.txt", "b"),
+            Parser.Input(Paths.get("c.txt"), { "c".byteInputStream() }, true)), null, ctx)
+
+        assertThat(counting.lastParsed).containsExactly(Paths.get("a.txt"), Paths.get("b.txt"), Paths.get("c.txt"))
+        assertThat(second.map { it.printTrimmed() }).containsExactly("a", "b", "c")
+        assertThat(second.map { it.id }.take(2)).containsExactlyElementsOf(first.map { it.id })
+    }
+
+    @Test
+    fun differentParserOptionsDoNotShareEntries(@TempDir cacheDir: Path) {
+        val counting = CountingParser()
+        val cache = ParseCache<PlainText>(cacheDir)
+        val ctx = InMemoryExecutionContext { t -> throw t }
+
+        CachingParser(counting, cache, "PlainText", "utf-8", null).parseInputs(listOf(input("a.txt", "a")), null, ctx)
+        CachingParser(counting, cache, "PlainText", "utf-16", null).parseInputs(listOf(input("a.txt", "a")), null, ctx)
+        assertThat(counting.parsed).isEqualTo(2)
+    }
+
+    @Test
+    fun evictBySize(@TempDir cacheDir: Path) {
+        val cache = ParseCache<PlainText>(cacheDir)
+        val parser = CachingParser(CountingParser(), cache, "PlainText", "", null)
+        parser.parseInputs(listOf(input("a.txt", "a"), input("b.txt", "b")), null, InMemoryExecutionContext())
+        assertThat(Files.list(cacheDir).use { it.count() }).isEqualTo(2)
+
+        cache.evict(cache.size() - 1, Duration.ofDays(1))
+        assertThat(Files.list(cacheDir).use { it.count() }).isEqualTo(1)
+
+        cache.evict(Long.MAX_VALUE, Duration.ZERO.minusSeconds(1))
+        assertThat(Files.list(cacheDir).use { it.count() }).isEqualTo(0)
+    }
+}
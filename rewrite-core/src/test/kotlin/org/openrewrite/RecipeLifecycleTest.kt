@@ -16,14 +16,20 @@
 package org.openrewrite
 
 import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
 import org.junit.jupiter.api.Test
 import org.openrewrite.Tree.randomId
 import org.openrewrite.marker.Markers
+import org.openrewrite.marker.RecipeSearchResult
+import org.openrewrite.scheduling.ForkJoinScheduler
+import org.openrewrite.scheduling.PipelinedForkJoinScheduler
 import org.openrewrite.text.PlainText
 import org.openrewrite.text.PlainTextVisitor
 import java.nio.file.Path
 import java.nio.file.Paths
 import java.util.*
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicInteger
 
 class RecipeLifecycleTest {
@@ -126,6 +132,183 @@ class RecipeLifecycleTest {
         }).containsExactly("test.DeletingRecipe")
     }
 
+    @Test
+    fun streamingRun() {
+        val recipe = object : Recipe() {
+            override fun getDisplayName() = "Shout"
+            override fun getVisitor(): PlainTextVisitor<ExecutionContext> {
+                return object : PlainTextVisitor<ExecutionContext>() {
+                    override fun visit(tree: Tree, p: ExecutionContext): PlainText {
+                        val pt = tree as PlainText
+                        return if (pt.text.startsWith("change")) pt.withText(pt.text.toUpperCase()) else pt
+                    }
+                }
+            }
+        }
+
+        val results = mutableListOf<Result>()
+        recipe.run((1..100).map {
+            PlainText(randomId(), Paths.get("$it.txt"), Markers.EMPTY, if (it % 10 == 0) "change $it" else "keep $it")
+        }.iterator(), InMemoryExecutionContext { throw it }) { results.add(it) }
+
+        assertThat(results.map { it.after!!.sourcePath.toString() })
+            .containsExactly("10.txt", "20.txt", "30.txt", "40.txt", "50.txt", "60.txt", "70.txt", "80.txt", "90.txt", "100.txt")
+    }
+
+    @Test
+    fun markerOnlyChangeIsAResult() {
+        val recipe = object : Recipe() {
+            override fun getDisplayName() = "Mark"
+            override fun getVisitor(): PlainTextVisitor<ExecutionContext> {
+                val recipe = this
+                return object : PlainTextVisitor<ExecutionContext>() {
+                    override fun visit(tree: Tree, p: ExecutionContext): PlainText {
+                        val pt = tree as PlainText
+                        return pt.withMarkers(pt.markers.addIfAbsent(RecipeSearchResult(randomId(), recipe)))
+                    }
+                }
+            }
+        }
+        val source = PlainText(randomId(), Paths.get("test.txt"), Markers.EMPTY, "hello")
+
+        assertThat(recipe.run(listOf(source), InMemoryExecutionContext { throw it })).hasSize(1)
+
+        val results = mutableListOf<Result>()
+        recipe.run(listOf(source).iterator(), InMemoryExecutionContext { throw it }) { results.add(it) }
+        assertThat(results).hasSize(1)
+    }
+
+    @Test
+    fun copyWithTheSameContentIsNotAResult() {
+        val recipe = object : Recipe() {
+            override fun getDisplayName() = "Copy"
+            override fun getVisitor(): PlainTextVisitor<ExecutionContext> {
+                return object : PlainTextVisitor<ExecutionContext>() {
+                    override fun visit(tree: Tree, p: ExecutionContext): PlainText {
+                        val pt = tree as PlainText
+                        return pt.withText(String(pt.text.toCharArray()))
+                    }
+                }
+            }
+        }
+        val source = PlainText(randomId(), Paths.get("test.txt"), Markers.EMPTY, "hello")
+
+        assertThat(recipe.run(listOf(source), InMemoryExecutionContext { throw it })).isEmpty()
+
+        val results = mutableListOf<Result>()
+        recipe.run(listOf(source).iterator(), InMemoryExecutionContext { throw it }) { results.add(it) }
+        assertThat(results).isEmpty()
+    }
+
+    @Test
+    fun streamingRunVisitsWithTheGivenScheduler() {
+        val visits = AtomicInteger(0)
+        val scheduler = object : ForkJoinScheduler(ForkJoinScheduler.common().forkJoinPool) {
+            override fun <S : SourceFile> scheduleVisit(
+                recipe: Recipe,
+                before: List<S>,
+                ctx: ExecutionContext,
+                recipeThatDeletedSourceFile: MutableMap<UUID, Recipe>
+            ): List<S> {
+                visits.incrementAndGet()
+                return super.scheduleVisit(recipe, before, ctx, recipeThatDeletedSourceFile)
+            }
+        }
+        val recipe = object : Recipe() {
+            override fun getDisplayName() = "Noop"
+        }
+
+        recipe.run((1..10).map { PlainText(randomId(), Paths.get("$it.txt"), Markers.EMPTY, "$it") }.iterator(),
+            InMemoryExecutionContext { throw it }, scheduler, 1, 1) {}
+
+        assertThat(visits.get()).isEqualTo(10)
+    }
+
+    @Test
+    fun streamingRunRethrowsFailureOnceInFlightSourceFilesComplete() {
+        val started = AtomicInteger(0)
+        val finished = AtomicInteger(0)
+        val failed = CountDownLatch(1)
+        val recipe = object : Recipe() {
+            override fun getDisplayName() = "Fail"
+            override fun getVisitor(): PlainTextVisitor<ExecutionContext> {
+                return object : PlainTextVisitor<ExecutionContext>() {
+                    override fun visit(tree: Tree, p: ExecutionContext): PlainText {
+                        started.incrementAndGet()
+                        try {
+                            val pt = tree as PlainText
+                            if (pt.sourcePath.toString() == "1.txt") {
+                                failed.countDown()
+                                throw IllegalStateException("boom")
+                            }
+                            // the other source files in flight are still being visited when the first one fails
+                            failed.await(10, TimeUnit.SECONDS)
+                            return pt
+                        } finally {
+                            finished.incrementAndGet()
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThatThrownBy {
+            recipe.run((1..100).map { PlainText(randomId(), Paths.get("$it.txt"), Markers.EMPTY, "$it") }.iterator(),
+                InMemoryExecutionContext { throw it }) {}
+        }.hasRootCauseInstanceOf(IllegalStateException::class.java)
+
+        assertThat(started.get()).isGreaterThan(0)
+        assertThat(finished.get()).isEqualTo(started.get())
+    }
+
+    @Test
+    fun streamingRunFallsBackToBatchWhenAllSourceFilesAreRequired() {
+        val recipe = object : Recipe() {
+            override fun getDisplayName() = "test.DeletingRecipe"
+            override fun visit(before: List<SourceFile>, ctx: ExecutionContext) =
+                emptyList<SourceFile>()
+        }
+        assertThat(recipe.requiresAllSourceFiles()).isTrue
+
+        val results = mutableListOf<Result>()
+        recipe.run(listOf(PlainText(randomId(), Paths.get("test.txt"), Markers.EMPTY, "test")).iterator(),
+            InMemoryExecutionContext { throw it }) { results.add(it) }
+
+        assertThat(results.map { it.before!!.sourcePath.toString() }).containsExactly("test.txt")
+        assertThat(results.map { it.after }).containsOnlyNulls()
+    }
+
+    @Test
+    fun pipelinedSchedulerRunsEachSourceFileThroughTheRecipeTree() {
+        fun append(suffix: String) = object : Recipe() {
+            override fun getDisplayName() = suffix
+            override fun getName() = suffix
+            override fun getVisitor(): PlainTextVisitor<ExecutionContext> {
+                return object : PlainTextVisitor<ExecutionContext>() {
+                    override fun visit(tree: Tree, p: ExecutionContext): PlainText {
+                        val pt = tree as PlainText
+                        return if (pt.text.endsWith(suffix)) pt else pt.withText(pt.text + suffix)
+                    }
+                }
+            }
+        }
+
+        val recipe = object : Recipe() {
+            override fun getDisplayName() = "root"
+        }.doNext(append("a")).doNext(append("b")).doNext(append("c"))
+
+        val results = recipe.run(
+            (1..20).map { PlainText(randomId(), Paths.get("$it.txt"), Markers.EMPTY, "$it") },
+            InMemoryExecutionContext { throw it },
+            PipelinedForkJoinScheduler.common(),
+            3,
+            1
+        )
+
+        assertThat(results.map { it.after!!.print() }).containsExactlyElementsOf((1..20).map { "${it}abc" })
+        assertThat(results.first().recipesThatMadeChanges.map { it.name }).containsExactly("a", "b", "c")
+    }
+
     @Suppress("USELESS_IS_CHECK")
     class FooVisitor<P> : TreeVisitor<FooSource, P>() {
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.internal
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+class WeakInternerTest {
+
+    @Test
+    fun internsEqualKeysToTheSameValue() {
+        val interner = WeakInterner<StringBuilder>("test.same", 16, 16)
+        val first = interner.intern(" ") { StringBuilder(it) }
+        val second = interner.intern(String(charArrayOf(' '))) { StringBuilder(it) }
+        assertThat(first).isSameAs(second)
+        assertThat(interner.size()).isEqualTo(1)
+    }
+
+    @Test
+    fun doesNotInternBeyondBounds() {
+        val interner = WeakInterner<StringBuilder>("test.bounds", 2, 1)
+        interner.intern("   ") { StringBuilder(it) }
+        assertThat(interner.size()).isEqualTo(0)
+
+        val held = interner.intern(" ") { StringBuilder(it) }
+        interner.intern("  ") { StringBuilder(it) }
+        assertThat(interner.size()).isEqualTo(1)
+        assertThat(interner.intern(" ") { StringBuilder(it) }).isSameAs(held)
+    }
+}
@@ -82,4 +82,13 @@ class LatestReleaseTest {
         assertThat(LatestRelease.normalizeVersion("29.0-jre")).isEqualTo("29.0.0-jre")
         assertThat(LatestRelease.normalizeVersion("29-jre")).isEqualTo("29.0.0-jre")
     }
+
+    @Test
+    fun selectNewestRelease() {
+        assertThat(latestRelease.select(listOf("1.1.0", "1.10.0", "1.9.0", "2.0.0-SNAPSHOT", "1.2.0-RC1")))
+            .hasValue("1.10.0")
+        assertThat(LatestRelease("-jre").select(listOf("29.0-jre", "30.0-android", "28.0-jre")))
+            .hasValue("29.0-jre")
+        assertThat(latestRelease.select(listOf("1.0-SNAPSHOT"))).isEmpty
+    }
 }
@@ -32,4 +32,9 @@ class SemverTest {
         assertThat(Semver.validate("^1.5", null).getValue<VersionComparator>())
                 .isInstanceOf(CaretRange::class.java)
     }
+
+    @Test
+    fun invalidMetadataPattern() {
+        assertThat(Semver.validate("latest.release", "(").isValid).isFalse()
+    }
 }
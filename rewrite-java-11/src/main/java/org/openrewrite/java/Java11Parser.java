@@ -19,6 +19,7 @@ import com.sun.tools.javac.comp.*;
 import com.sun.tools.javac.file.JavacFileManager;
 import com.sun.tools.javac.main.JavaCompiler;
 import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeScanner;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Log;
 import com.sun.tools.javac.util.Options;
@@ -35,6 +36,7 @@ import org.openrewrite.internal.lang.NonNullApi;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.JavaTypeCache;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.style.NamedStyles;
 
@@ -47,14 +49,28 @@ import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
+import static org.openrewrite.internal.ConcurrencyUtils.newDaemonThreadPool;
 
 /**
- * This parser is NOT thread-safe, as the OpenJDK parser maintains in-memory caches in static state.
+ * A parser is NOT thread-safe: it must not be used by more than one thread at a time, as each OpenJDK compiler context
+ * it owns holds the symbols and the in-progress state of what it parses. Separate parsers have compiler contexts of
+ * their own, and can parse on different threads at the same time.
+ * <p>
+ * With a {@link Builder#parallelism(int) parallelism} greater than one, the parser owns that many OpenJDK compiler
+ * contexts and splits the inputs to each {@link #parseInputs(Iterable, Path, ExecutionContext)} call between them,
+ * type attributing and mapping each partition on its own thread from a pool shared by all parsers. Every context
+ * parses all inputs, but only enters the symbols of its own partition and of the other inputs that declare a type
+ * its partition refers to by name, directly or through another such input, so that types declared in one partition
+ * resolve in every other one. Parse metrics are only recorded for the inputs a context maps.
  */
 @NonNullApi
 public class Java11Parser implements JavaParser {
@@ -78,16 +94,40 @@ public class Java11Parser implements JavaParser {
     private final Context context;
     private final JavaCompiler compiler;
     private final ResettableLog compilerLog;
+    private final TimedTodo todo;
     private final Collection<NamedStyles> styles;
 
+    /**
+     * Parsers for all but the first partition of inputs when parsing in parallel, each with their own compiler context.
+     */
+    private final List<Java11Parser> partitionParsers;
+
+    /**
+     * Shared by every parser, so that parsers built and discarded with a parallelism greater than one don't each leave
+     * a pool of threads behind. The calling thread parses the first partition itself, so partitions only queue here
+     * when more than one parser is parsing at once.
+     */
+    private static final ExecutorService partitionExecutor = newDaemonThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), "rewrite-java11-parser");
+
+    /**
+     * The cache that types are deduplicated against, or {@code null} to use whichever cache is current on the calling
+     * thread.
+     */
+    @Nullable
+    private final JavaTypeCache typeCache;
+
     private Java11Parser(@Nullable Collection<Path> classpath,
                          Collection<byte[]> classBytesClasspath,
                          @Nullable Collection<Input> dependsOn,
                          Charset charset,
                          boolean relaxedClassTypeMatching,
                          boolean logCompilationWarningsAndErrors,
-                         Collection<NamedStyles> styles) {
+                         Collection<NamedStyles> styles,
+                         int parallelism,
+                         @Nullable JavaTypeCache typeCache) {
         this.classpath = classpath;
+        this.typeCache = typeCache;
         this.dependsOn = dependsOn;
         this.relaxedClassTypeMatching = relaxedClassTypeMatching;
         this.styles = styles;
@@ -109,7 +149,7 @@ public class Java11Parser implements JavaParser {
         Options.instance(context).put("-proc", "none");
 
         // MUST be created ahead of compiler construction
-        new TimedTodo(context);
+        this.todo = new TimedTodo(context);
 
         // MUST be created (registered with the context) after pfm and compilerLog
         compiler = new JavaCompiler(context);
@@ -143,6 +183,16 @@ public class Java11Parser implements JavaParser {
         }));
 
         compileDependencies();
+
+        if (parallelism > 1) {
+            this.partitionParsers = new ArrayList<>(parallelism - 1);
+            for (int i = 1; i < parallelism; i++) {
+                partitionParsers.add(new Java11Parser(classpath, classBytesClasspath, dependsOn, charset,
+                        relaxedClassTypeMatching, logCompilationWarningsAndErrors, styles, 1, typeCache));
+            }
+        } else {
+            this.partitionParsers = emptyList();
+        }
     }
 
     public static Builder builder() {
@@ -151,6 +201,54 @@ public class Java11Parser implements JavaParser {
 
     @Override
     public List<J.CompilationUnit> parseInputs(Iterable<Input> sourceFiles, @Nullable Path relativeTo, ExecutionContext ctx) {
+        JavaTypeCache cache = typeCache == null ? JavaTypeCache.current() : typeCache;
+        return cache.run(() -> parseInputs(acceptedInputs(sourceFiles), relativeTo, ctx, cache));
+    }
+
+    private List<J.CompilationUnit> parseInputs(List<Input> inputs, @Nullable Path relativeTo, ExecutionContext ctx,
+                                                JavaTypeCache cache) {
+        if (partitionParsers.isEmpty() || inputs.size() < 2) {
+            return parseInputs(inputs, 0, inputs.size(), relativeTo, ctx, new HashMap<>());
+        }
+
+        Map<String, JavaType.Class> sharedClassTypes = new ConcurrentHashMap<>();
+        int partitionSize = (inputs.size() + partitionParsers.size()) / (partitionParsers.size() + 1);
+
+        List<CompletableFuture<List<J.CompilationUnit>>> partitions = new ArrayList<>(partitionParsers.size());
+        for (int i = 1; i * partitionSize < inputs.size(); i++) {
+            Java11Parser partitionParser = partitionParsers.get(i - 1);
+            int from = i * partitionSize;
+            int to = Math.min(from + partitionSize, inputs.size());
+            partitions.add(CompletableFuture.supplyAsync(() -> cache.run(() -> partitionParser.parseInputs(inputs,
+                    from, to, relativeTo, ctx, sharedClassTypes)), partitionExecutor));
+        }
+
+        List<J.CompilationUnit> cus = new ArrayList<>(inputs.size());
+        cus.addAll(parseInputs(inputs, 0, partitionSize, relativeTo, ctx, sharedClassTypes));
+        for (CompletableFuture<List<J.CompilationUnit>> partition : partitions) {
+            cus.addAll(partition.join());
+        }
+        return cus;
+    }
+
+    private JCTree.JCCompilationUnit parse(Input input) {
+        try {
+            return compiler.parse(new Java11ParserInputFileObject(input));
+        } catch (IllegalStateException e) {
+            if (e.getMessage().equals("endPosTable already set")) {
+                throw new IllegalStateException("Call reset() on JavaParser before parsing another" +
+                        "set of source files that have some of the same fully qualified names", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Parses every input, but only enters those in the range {@code [from, to)} and the inputs they need, and only type
+     * attributes and maps those in the range.
+     */
+    private List<J.CompilationUnit> parseInputs(List<Input> inputs, int from, int to, @Nullable Path relativeTo,
+                                                ExecutionContext ctx, Map<String, JavaType.Class> sharedClassTypes) {
         JavaExecutionContextView ctxView = new JavaExecutionContextView(ctx);
 
         if (classpath != null) { // override classpath
@@ -166,31 +264,39 @@ public class Java11Parser implements JavaParser {
         }
 
         LinkedHashMap<Input, JCTree.JCCompilationUnit> cus = new LinkedHashMap<>();
-        for (Input input1 : acceptedInputs(sourceFiles)) {
-            cus.put(input1, MetricsHelper.successTags(
-                    Timer.builder("rewrite.parse")
-                            .description("The time spent by the JDK in parsing and tokenizing the source file")
-                            .tag("file.type", "Java")
-                            .tag("step", "(1) JDK parsing"))
-                    .register(Metrics.globalRegistry)
-                    .record(() -> {
-                        try {
-                            JCTree.JCCompilationUnit parsed = compiler.parse(new Java11ParserInputFileObject(input1));
+        for (int i = 0; i < inputs.size(); i++) {
+            Input input1 = inputs.get(i);
+            if (i >= from && i < to) {
+                cus.put(input1, MetricsHelper.successTags(
+                        Timer.builder("rewrite.parse")
+                                .description("The time spent by the JDK in parsing and tokenizing the source file")
+                                .tag("file.type", "Java")
+                                .tag("step", "(1) JDK parsing"))
+                        .register(Metrics.globalRegistry)
+                        .record(() -> {
+                            JCTree.JCCompilationUnit parsed = parse(input1);
                             ctxView.increment(JavaExecutionContextView.EVENT_SOURCE_FILE_PARSED);
                             return parsed;
-                        } catch (IllegalStateException e) {
-                            if (e.getMessage().equals("endPosTable already set")) {
-                                throw new IllegalStateException("Call reset() on JavaParser before parsing another" +
-                                        "set of source files that have some of the same fully qualified names", e);
-                            }
-                            throw e;
-                        }
-                    }));
+                        }));
+            } else {
+                // parsed only so that its symbols can be entered if the partition needs them, and accounted for by the
+                // partition that maps it
+                cus.put(input1, parse(input1));
+            }
         }
 
         try {
-            initModules(cus.values());
-            enterAll(cus.values());
+            Collection<JCTree.JCCompilationUnit> entered = from > 0 || to < inputs.size() ?
+                    withReferencedDeclarations(new ArrayList<>(cus.values()), from, to) :
+                    cus.values();
+            initModules(entered);
+            enterAll(entered);
+
+            if (from > 0 || to < inputs.size()) {
+                Set<JCTree.JCCompilationUnit> partition = Collections.newSetFromMap(new IdentityHashMap<>());
+                cus.values().stream().skip(from).limit(to - from).forEach(partition::add);
+                todo.retain(partition);
+            }
 
             // For some reason this is necessary in JDK 9+, where the the internal block counter that
             // annotationsBlocked() tests against remains >0 after attribution.
@@ -207,8 +313,9 @@ public class Java11Parser implements JavaParser {
             ctx.getOnError().accept(new JavaParsingException("Failed symbol entering or attribution", t));
         }
 
-        Map<String, JavaType.Class> sharedClassTypes = new HashMap<>();
         return cus.entrySet().stream()
+                .skip(from)
+                .limit(to - from)
                 .map(cuByPath -> {
                     Timer.Sample sample = Timer.start();
                     Input input = cuByPath.getKey();
@@ -256,21 +363,87 @@ public class Java11Parser implements JavaParser {
         Enter.instance(context).newRound();
         Modules.instance(context).newRound();
         compileDependencies();
+        for (Java11Parser partitionParser : partitionParsers) {
+            partitionParser.reset();
+        }
         return this;
     }
 
     public void setClasspath(Collection<Path> classpath) {
         this.classpath = classpath;
+        for (Java11Parser partitionParser : partitionParsers) {
+            partitionParser.setClasspath(classpath);
+        }
     }
 
     private void compileDependencies() {
         if (dependsOn != null) {
-            parseInputs(dependsOn, null, new InMemoryExecutionContext());
+            List<Input> dependencies = acceptedInputs(dependsOn);
+            JavaTypeCache cache = typeCache == null ? JavaTypeCache.current() : typeCache;
+            cache.run(() -> parseInputs(dependencies, 0, dependencies.size(), null, new InMemoryExecutionContext(),
+                    new HashMap<>()));
         }
         Modules.instance(context).newRound();
     }
 
 
+    /**
+     * Parsing is cheap next to entering symbols, which completes the members of every class entered, so a partition
+     * only enters what its own compilation units could need.
+     *
+     * @return The compilation units in {@code [from, to)}, along with every other one that declares a top-level type
+     * whose simple name is an identifier in one of those already returned, in their original order. Compilation units
+     * that declare no type, e.g. {@code package-info.java}, are always returned.
+     */
+    private static List<JCTree.JCCompilationUnit> withReferencedDeclarations(List<JCTree.JCCompilationUnit> cus,
+                                                                             int from, int to) {
+        Map<String, List<JCTree.JCCompilationUnit>> declaring = new HashMap<>();
+        Set<JCTree.JCCompilationUnit> needed = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<JCTree.JCCompilationUnit> toScan = new ArrayDeque<>();
+        for (int i = 0; i < cus.size(); i++) {
+            JCTree.JCCompilationUnit cu = cus.get(i);
+            boolean declaresType = false;
+            for (JCTree typeDecl : cu.getTypeDecls()) {
+                if (typeDecl instanceof JCTree.JCClassDecl) {
+                    declaring.computeIfAbsent(((JCTree.JCClassDecl) typeDecl).getSimpleName().toString(),
+                            name -> new ArrayList<>(1)).add(cu);
+                    declaresType = true;
+                }
+            }
+            if ((i >= from && i < to) || !declaresType) {
+                needed.add(cu);
+                toScan.add(cu);
+            }
+        }
+
+        // an over-approximation, since identifiers also name variables, methods and packages
+        TreeScanner references = new TreeScanner() {
+            @Override
+            public void visitIdent(JCTree.JCIdent tree) {
+                require(tree.getName().toString());
+            }
+
+            @Override
+            public void visitSelect(JCTree.JCFieldAccess tree) {
+                super.visitSelect(tree);
+                require(tree.getIdentifier().toString());
+            }
+
+            private void require(String name) {
+                for (JCTree.JCCompilationUnit cu : declaring.getOrDefault(name, emptyList())) {
+                    if (needed.add(cu)) {
+                        toScan.add(cu);
+                    }
+                }
+            }
+        };
+        while (!toScan.isEmpty()) {
+            references.scan(toScan.poll());
+        }
+
+        return cus.stream().filter(needed::contains).collect(toList());
+    }
+
     /**
      * Initialize modules
      */
@@ -310,6 +483,20 @@ public class Java11Parser implements JavaParser {
             super(context);
         }
 
+        /**
+         * Drop any queued attribution of classes declared outside of the given compilation units.
+         */
+        public void retain(Set<JCTree.JCCompilationUnit> cus) {
+            List<Env<AttrContext>> retained = new ArrayList<>();
+            while (!super.isEmpty()) {
+                Env<AttrContext> env = super.remove();
+                if (cus.contains(env.toplevel)) {
+                    retained.add(env);
+                }
+            }
+            retained.forEach(this::append);
+        }
+
         @Override
         public boolean isEmpty() {
             if (sample != null) {
@@ -331,10 +518,41 @@ public class Java11Parser implements JavaParser {
     }
 
     public static class Builder extends JavaParser.Builder<Java11Parser, Builder> {
+        private int parallelism = 1;
+
+        @Nullable
+        private JavaTypeCache typeCache;
+
+        /**
+         * @param parallelism The number of compiler contexts, and threads, that inputs are split between.
+         * @return This builder.
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            this.templateParserKey = null;
+            return this;
+        }
+
+        /**
+         * @param typeCache The cache that types are deduplicated against for the lifetime of the parser, so that
+         *                  {@link JavaTypeCache#clear() clearing} it does not affect types built by other parsers.
+         * @return This builder.
+         */
+        public Builder typeCache(JavaTypeCache typeCache) {
+            this.typeCache = typeCache;
+            this.templateParserKey = null;
+            return this;
+        }
+
+        @Override
+        protected String templateParserConfiguration() {
+            return parallelism + ";" + (typeCache == null ? "" : typeCache.getId());
+        }
+
         @Override
         public Java11Parser build() {
             return new Java11Parser(classpath, classBytesClasspath, dependsOn, charset, relaxedClassTypeMatching,
-                    logCompilationWarningsAndErrors, styles);
+                    logCompilationWarningsAndErrors, styles, parallelism, typeCache);
         }
     }
 
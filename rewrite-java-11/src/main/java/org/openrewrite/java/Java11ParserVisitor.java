@@ -78,6 +78,19 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
 
     private int cursor = 0;
 
+    /**
+     * The start and (exclusive) end of every comment in the source, in order, found once by a lexical scan of the
+     * whole source, so that scanning from the cursor needn't track whether it is inside a comment.
+     */
+    private final int[] commentStarts;
+    private final int[] commentEnds;
+
+    /**
+     * The offsets of every newline in the source, only computed to report line numbers when conversion fails.
+     */
+    @Nullable
+    private int[] newlineOffsets;
+
     private static final Pattern whitespacePrefixPattern = Pattern.compile("^\\s*");
     private static final Pattern whitespaceSuffixPattern = Pattern.compile("\\s*[^\\s]+(\\s*)");
 
@@ -92,6 +105,63 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
         this.styles = styles;
         this.sharedClassTypes = sharedClassTypes;
         this.ctx = ctx;
+
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int count = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = endOfLiteral(i) - 1;
+            } else if (c == '/' && source.length() > i + 1 &&
+                    (source.charAt(i + 1) == '/' || source.charAt(i + 1) == '*')) {
+                int end;
+                if (source.charAt(i + 1) == '/') {
+                    end = source.indexOf('\n', i + 2);
+                    end = end < 0 ? source.length() : end;
+                } else {
+                    end = source.indexOf("*/", i + 2);
+                    end = end < 0 ? source.length() : end + 2;
+                }
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                starts[count] = i;
+                ends[count++] = end;
+                i = end - 1;
+            }
+        }
+        this.commentStarts = Arrays.copyOf(starts, count);
+        this.commentEnds = Arrays.copyOf(ends, count);
+    }
+
+    /**
+     * @param start The position of the opening quote of a string, character or text block literal.
+     * @return The position just past its closing quote, so that comment delimiters inside it aren't taken for comments.
+     */
+    private int endOfLiteral(int start) {
+        char quote = source.charAt(start);
+        boolean textBlock = quote == '"' && source.startsWith("\"\"\"", start);
+        for (int i = start + (textBlock ? 3 : 1); i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i++; // skip the escaped character
+            } else if (textBlock ? source.startsWith("\"\"\"", i) : c == quote) {
+                return i + (textBlock ? 3 : 1);
+            } else if (!textBlock && c == '\n') {
+                return i; // unterminated, which javac will have reported
+            }
+        }
+        return source.length();
+    }
+
+    /**
+     * @return The index into {@link #commentStarts} of the first comment that starts at or after a position.
+     */
+    private int nextComment(int position) {
+        int comment = Arrays.binarySearch(commentStarts, position);
+        return comment < 0 ? -(comment + 1) : comment;
     }
 
     @Override
@@ -1432,9 +1502,10 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
 
     private <J2 extends J> J2 convert(Tree t) {
         try {
-            String prefix = source.substring(cursor, max(((JCTree) t).getStartPosition(), cursor));
-            cursor += prefix.length();
-            @SuppressWarnings("unchecked") J2 j = (J2) scan(t, format(prefix));
+            int start = max(((JCTree) t).getStartPosition(), cursor);
+            Space prefix = spaceBetween(cursor, start);
+            cursor = start;
+            @SuppressWarnings("unchecked") J2 j = (J2) scan(t, prefix);
             return j;
         } catch (Throwable ex) {
             // this SHOULD never happen, but is here simply as a diagnostic measure in the event of unexpected exceptions
@@ -1471,7 +1542,21 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
     }
 
     private long lineNumber(Tree tree) {
-        return source.substring(0, ((JCTree) tree).getStartPosition()).chars().filter(c -> c == '\n').count() + 1;
+        if (newlineOffsets == null) {
+            int[] offsets = new int[64];
+            int count = 0;
+            for (int i = source.indexOf('\n'); i >= 0; i = source.indexOf('\n', i + 1)) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = i;
+            }
+            newlineOffsets = Arrays.copyOf(offsets, count);
+        }
+
+        // the number of newlines before the start of the tree
+        int newlines = Arrays.binarySearch(newlineOffsets, ((JCTree) tree).getStartPosition());
+        return (newlines < 0 ? -(newlines + 1) : newlines) + 1;
     }
 
     @Nullable
@@ -1571,13 +1656,14 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
                 converted.add(convert(treeGroup.get(0), suffix));
             } else {
                 // multi-variable declarations are split into independent overlapping JCVariableDecl's by the OpenJDK AST
-                String prefix = source.substring(cursor, max(((JCTree) treeGroup.get(0)).getStartPosition(), cursor));
-                cursor += prefix.length();
+                int start = max(((JCTree) treeGroup.get(0)).getStartPosition(), cursor);
+                Space prefix = spaceBetween(cursor, start);
+                cursor = start;
 
                 Tree last = treeGroup.get(treeGroup.size() - 1);
 
                 @SuppressWarnings("unchecked")
-                J.VariableDeclarations vars = visitVariables((List<VariableTree>) treeGroup, format(prefix));
+                J.VariableDeclarations vars = visitVariables((List<VariableTree>) treeGroup, prefix);
                 JRightPadded<Statement> paddedVars = padRight(vars, semiDelim.apply(last));
                 cursor(max(endPos(last), cursor));
                 converted.add(paddedVars);
@@ -1877,9 +1963,17 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
             return EMPTY; // unable to find this delimiter
         }
 
-        String prefix = source.substring(cursor, delimIndex);
-        cursor += prefix.length() + untilDelim.length(); // advance past the delimiter
-        return Space.format(prefix);
+        Space prefix = spaceBetween(cursor, delimIndex);
+        cursor = delimIndex + untilDelim.length(); // advance past the delimiter
+        return prefix;
+    }
+
+    /**
+     * @return The whitespace and comments between two positions in the source, without copying the source
+     * when there are none.
+     */
+    private Space spaceBetween(int start, int end) {
+        return start >= end ? EMPTY : format(source.substring(start, end));
     }
 
     private <T> JRightPadded<T> padRight(T tree, Space right) {
@@ -1891,45 +1985,22 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
     }
 
     private int positionOfNext(String untilDelim, @Nullable Character stop) {
-        boolean inMultiLineComment = false;
-        boolean inSingleLineComment = false;
-
-        int delimIndex = cursor;
-        for (; delimIndex < source.length() - untilDelim.length() + 1; delimIndex++) {
-            if (inSingleLineComment) {
-                if (source.charAt(delimIndex) == '\n') {
-                    inSingleLineComment = false;
-                }
-            } else {
-                if (source.length() - untilDelim.length() > delimIndex + 1) {
-                    switch (source.substring(delimIndex, delimIndex + 2)) {
-                        case "//":
-                            inSingleLineComment = true;
-                            delimIndex++;
-                            break;
-                        case "/*":
-                            inMultiLineComment = true;
-                            delimIndex++;
-                            break;
-                        case "*/":
-                            inMultiLineComment = false;
-                            delimIndex = delimIndex + 2;
-                            break;
-                    }
-                }
+        int comment = nextComment(cursor);
+        for (int delimIndex = cursor; delimIndex <= source.length() - untilDelim.length(); delimIndex++) {
+            if (comment < commentStarts.length && delimIndex == commentStarts[comment]) {
+                delimIndex = commentEnds[comment++] - 1; // skip past the comment
+                continue;
+            }
 
-                if (!inMultiLineComment && !inSingleLineComment) {
-                    if (stop != null && source.charAt(delimIndex) == stop)
-                        return -1; // reached stop word before finding the delimiter
+            if (stop != null && source.charAt(delimIndex) == stop)
+                return -1; // reached stop word before finding the delimiter
 
-                    if (source.startsWith(untilDelim, delimIndex)) {
-                        break; // found it!
-                    }
-                }
+            if (source.startsWith(untilDelim, delimIndex)) {
+                return delimIndex; // found it!
             }
         }
 
-        return delimIndex > source.length() - untilDelim.length() ? -1 : delimIndex;
+        return -1;
     }
 
     private final Function<Tree, Space> semiDelim = ignored -> sourceBefore(";");
@@ -1937,42 +2008,21 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
     private final Function<Tree, Space> noDelim = ignored -> EMPTY;
 
     private Space whitespace() {
-        boolean inMultiLineComment = false;
-        boolean inSingleLineComment = false;
-
+        int comment = nextComment(cursor);
         int delimIndex = cursor;
-        for (; delimIndex < source.length(); delimIndex++) {
-            if (inSingleLineComment && (source.charAt(delimIndex) == '\n' || source.charAt(delimIndex) == '\r')) {
-                inSingleLineComment = false;
+        while (delimIndex < source.length()) {
+            if (comment < commentStarts.length && delimIndex == commentStarts[comment]) {
+                delimIndex = commentEnds[comment++];
+            } else if (Character.isWhitespace(source.charAt(delimIndex))) {
+                delimIndex++;
             } else {
-                if (source.length() > delimIndex + 1) {
-                    switch (source.substring(delimIndex, delimIndex + 2)) {
-                        case "//":
-                            inSingleLineComment = true;
-                            delimIndex++;
-                            continue;
-                        case "/*":
-                            inMultiLineComment = true;
-                            delimIndex++;
-                            continue;
-                        case "*/":
-                            inMultiLineComment = false;
-                            delimIndex++;
-                            continue;
-                    }
-                }
-
-                if (!inMultiLineComment && !inSingleLineComment) {
-                    if (!Character.isWhitespace(source.substring(delimIndex, delimIndex + 1).charAt(0))) {
-                        break; // found it!
-                    }
-                }
+                break; // found it!
             }
         }
 
-        String prefix = source.substring(cursor, delimIndex);
-        cursor += prefix.length();
-        return format(prefix);
+        Space prefix = spaceBetween(cursor, delimIndex);
+        cursor = delimIndex;
+        return prefix;
     }
 
     private String skip(@Nullable String token) {
@@ -2034,11 +2084,10 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
         List<J.Modifier> sortedModifiers = new ArrayList<>();
         List<J.Annotation> currentAnnotations = new ArrayList<>();
         boolean afterFirstModifier = false;
-        boolean inComment = false;
-        boolean inMultilineComment = false;
         final AtomicReference<String> word = new AtomicReference<>("");
         int afterLastModifierPosition = cursor;
         int lastAnnotationPosition = cursor;
+        int comment = nextComment(cursor);
         for (int i = cursor; i < source.length(); i++) {
             if (annotationPosTable.containsKey(i)) {
                 J.Annotation annotation = convert(annotationPosTable.get(i));
@@ -2051,45 +2100,38 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
                 lastAnnotationPosition = cursor;
                 continue;
             }
-            char c = source.charAt(i);
-            if (c == '/' && source.length() > i + 1) {
-                char next = source.charAt(i + 1);
-                if (next == '*') {
-                    inMultilineComment = true;
-                } else if (next == '/') {
-                    inComment = true;
-                }
+            while (comment < commentStarts.length && commentStarts[comment] < i) {
+                comment++; // passed over by converting an annotation
+            }
+            if (comment < commentStarts.length && i == commentStarts[comment]) {
+                i = commentEnds[comment++] - 1; // skip past the comment
+                continue;
             }
 
-            if (inMultilineComment && c == '/' && source.charAt(i - 1) == '*') {
-                inMultilineComment = false;
-            } else if (inComment && c == '\n' || c == '\r') {
-                inComment = false;
-            } else if (!inMultilineComment && !inComment) {
-                if (Character.isWhitespace(c)) {
-                    if (!word.get().isEmpty()) {
-                        Modifier matching = null;
-                        for (Modifier modifier : modifiers.getFlags()) {
-                            if (modifier.name().toLowerCase().equals(word.get())) {
-                                matching = modifier;
-                                break;
-                            }
-                        }
-
-                        if (matching == null) {
-                            this.cursor = afterLastModifierPosition;
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!word.get().isEmpty()) {
+                    Modifier matching = null;
+                    for (Modifier modifier : modifiers.getFlags()) {
+                        if (modifier.name().toLowerCase().equals(word.get())) {
+                            matching = modifier;
                             break;
-                        } else {
-                            sortedModifiers.add(mapModifier(matching, currentAnnotations));
-                            afterFirstModifier = true;
-                            currentAnnotations = new ArrayList<>();
-                            word.set("");
-                            afterLastModifierPosition = cursor;
                         }
                     }
-                } else {
-                    word.getAndUpdate(w -> w + c);
+
+                    if (matching == null) {
+                        this.cursor = afterLastModifierPosition;
+                        break;
+                    } else {
+                        sortedModifiers.add(mapModifier(matching, currentAnnotations));
+                        afterFirstModifier = true;
+                        currentAnnotations = new ArrayList<>();
+                        word.set("");
+                        afterLastModifierPosition = cursor;
+                    }
                 }
+            } else {
+                word.getAndUpdate(w -> w + c);
             }
         }
         if (sortedModifiers.isEmpty()) {
@@ -2148,32 +2190,23 @@ public class Java11ParserVisitor extends TreePathScanner<J, Space> {
     private List<J.Annotation> collectAnnotations(Map<Integer, JCAnnotation> annotationPosTable) {
         int maxAnnotationPosition = annotationPosTable.keySet().stream().mapToInt(i -> i).max().orElse(0);
         List<J.Annotation> annotations = new ArrayList<>();
-        boolean inComment = false;
-        boolean inMultilineComment = false;
+        int comment = nextComment(cursor);
         for (int i = cursor; i <= maxAnnotationPosition; i++) {
             if (annotationPosTable.containsKey(i)) {
                 annotations.add(convert(annotationPosTable.get(i)));
                 i = cursor;
                 continue;
             }
-            char c = source.charAt(i);
-            if (c == '/' && source.length() > i + 1) {
-                char next = source.charAt(i + 1);
-                if (next == '*') {
-                    inMultilineComment = true;
-                } else if (next == '/') {
-                    inComment = true;
-                }
+            while (comment < commentStarts.length && commentStarts[comment] < i) {
+                comment++; // passed over by converting an annotation
+            }
+            if (comment < commentStarts.length && i == commentStarts[comment]) {
+                i = commentEnds[comment++] - 1; // skip past the comment
+                continue;
             }
 
-            if (inMultilineComment && c == '/' && source.charAt(i - 1) == '*') {
-                inMultilineComment = false;
-            } else if (inComment && c == '\n' || c == '\r') {
-                inComment = false;
-            } else if (!inMultilineComment && !inComment) {
-                if (!Character.isWhitespace(c)) {
-                    break;
-                }
+            if (!Character.isWhitespace(source.charAt(i))) {
+                break;
             }
         }
         return annotations;
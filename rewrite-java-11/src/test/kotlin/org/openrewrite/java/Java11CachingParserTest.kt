@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.openrewrite.CachingParser
+import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.ParseCache
+import org.openrewrite.Parser
+import org.openrewrite.java.tree.J
+import org.openrewrite.java.tree.JavaType
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class Java11CachingParserTest {
+
+    private fun input(path: String, source: String) =
+        Parser.Input(Paths.get(path)) { source.trimIndent().byteInputStream() }
+
+    @Test
+    fun newSourceResolvesTypesDeclaredInCachedSource(@TempDir cacheDir: Path) {
+        val parser = CachingParser(Java11Parser.builder().build(), ParseCache(cacheDir), "Java", "", null)
+        val ctx = InMemoryExecutionContext { throw it }
+        val a = input("org/openrewrite/A.java", """
+            package org.openrewrite;
+            public class A {}
+        """)
+
+        parser.parseInputs(listOf(a), null, ctx)
+        parser.reset()
+
+        val cus = parser.parseInputs(listOf(a, input("org/openrewrite/B.java", """
+            package org.openrewrite;
+            public class B {
+                A a;
+            }
+        """)), null, ctx)
+
+        val field = cus[1].classes[0].body.statements[0] as J.VariableDeclarations
+        assertThat((field.typeAsFullyQualified as JavaType.Class).fullyQualifiedName).isEqualTo("org.openrewrite.A")
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.openrewrite.ExecutionContext
+import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.Recipe
+import org.openrewrite.Tree.randomId
+import org.openrewrite.TreeVisitor
+import org.openrewrite.java.tree.J
+import org.openrewrite.java.tree.Space
+import org.openrewrite.marker.RecipeSearchResult
+
+class Java11ChangeDetectionTest {
+    private val cu = Java11Parser.builder().build().parse(
+        InMemoryExecutionContext { throw it },
+        """
+            class Test {
+                void test() {
+                    foo(1);
+                }
+                void foo(int n) {}
+            }
+        """.trimIndent()
+    )
+
+    private fun recipe(change: (J.MethodInvocation, Recipe) -> J.MethodInvocation) = object : Recipe() {
+        override fun getDisplayName() = "Change method invocations"
+        override fun getVisitor(): TreeVisitor<*, ExecutionContext> {
+            val recipe = this
+            return object : JavaIsoVisitor<ExecutionContext>() {
+                override fun visitMethodInvocation(method: J.MethodInvocation, p: ExecutionContext) =
+                    change(super.visitMethodInvocation(method, p), recipe)
+            }
+        }
+    }
+
+    @Test
+    fun changeInsideAContainerIsAResult() {
+        val results = recipe { m, _ ->
+            m.padding.withArguments(m.padding.arguments.withBefore(Space.format(" ")))
+        }.run(cu)
+
+        assertThat(results).hasSize(1)
+        assertThat(results[0].after!!.print()).contains("foo (1);")
+    }
+
+    @Test
+    fun markerOnlyChangeIsAResult() {
+        val results = recipe { m, recipe ->
+            m.withMarkers(m.markers.addIfAbsent(RecipeSearchResult(randomId(), recipe)))
+        }.run(cu)
+
+        assertThat(results).hasSize(1)
+    }
+
+    @Test
+    fun copyWithTheSameContentIsNotAResult() {
+        val results = recipe { m, _ -> m.withId(randomId()) }.run(cu)
+
+        assertThat(results).isEmpty()
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.java.tree.J
+import org.openrewrite.java.tree.JavaType
+
+class Java11ParallelParserTest {
+
+    @Test
+    fun typesResolveAcrossPartitions() {
+        val sources = (0 until 8).map { i ->
+            """
+                package org.openrewrite;
+                public class A$i {
+                    A${(i + 1) % 8} next;
+                }
+            """.trimIndent()
+        }
+
+        val cus = Java11Parser.builder()
+            .parallelism(4)
+            .build()
+            .parse(InMemoryExecutionContext { throw it }, *sources.toTypedArray())
+
+        assertThat(cus.map { it.classes[0].simpleName }).containsExactly("A0", "A1", "A2", "A3", "A4", "A5", "A6", "A7")
+        cus.forEachIndexed { i, cu ->
+            val field = cu.classes[0].body.statements[0] as J.VariableDeclarations
+            assertThat((field.typeAsFullyQualified as JavaType.Class).fullyQualifiedName)
+                .isEqualTo("org.openrewrite.A${(i + 1) % 8}")
+        }
+    }
+
+    @Test
+    fun inheritedMembersResolveAcrossPartitions() {
+        val cus = Java11Parser.builder()
+            .parallelism(4)
+            .build()
+            .parse(
+                InMemoryExecutionContext { throw it },
+                "package org.openrewrite; public class User { Object name = new Child().name(); }",
+                "package org.openrewrite; public class Child extends Base {}",
+                "package org.openrewrite; public class Base { public String name() { return null; } }",
+                "package org.openrewrite; public class Unrelated {}"
+            )
+
+        val field = cus[0].classes[0].body.statements[0] as J.VariableDeclarations
+        val name = field.variables[0].initializer as J.MethodInvocation
+        assertThat(name.type!!.declaringType.fullyQualifiedName).isEqualTo("org.openrewrite.Base")
+        assertThat((name.type!!.resolvedSignature!!.returnType as JavaType.Class).fullyQualifiedName)
+            .isEqualTo("java.lang.String")
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.Parser
+import org.openrewrite.TreeSerializer
+import org.openrewrite.java.tree.J
+import org.openrewrite.java.tree.JavaType
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class Java11TreeContainerTest {
+
+    @Test
+    fun readSourceFilesIndividuallyWithSharedTypes(@TempDir tempDir: Path) {
+        val sources = mapOf(
+            "A.java" to "import java.util.List; public class A { List<String> names; }",
+            "B.java" to "import java.util.List; public class B { List<String> names; A a; }"
+        )
+        val cus = Java11Parser.builder().build().parseInputs(
+            sources.map { (path, source) -> Parser.Input(Paths.get(path)) { source.byteInputStream() } },
+            null,
+            InMemoryExecutionContext { throw it }
+        )
+
+        val serializer = TreeSerializer<J.CompilationUnit>(JavaType::class.java)
+        val container = tempDir.resolve("lst")
+        serializer.newContainerWriter(Files.newOutputStream(container)).use { writer ->
+            cus.forEach { writer.write(it) }
+        }
+
+        serializer.readContainer(container).use { reader ->
+            assertThat(reader.sourcePaths).containsExactly(Paths.get("A.java"), Paths.get("B.java"))
+
+            val b = reader.read(Paths.get("B.java"))!!
+            assertThat(b.print()).isEqualTo(cus[1].print())
+
+            val a = reader.read(Paths.get("A.java"))!!
+            val namesInA = a.classes[0].body.statements[0] as J.VariableDeclarations
+            val namesInB = b.classes[0].body.statements[0] as J.VariableDeclarations
+            assertThat(namesInA.typeAsFullyQualified).isSameAs(namesInB.typeAsFullyQualified)
+            assertThat(namesInA.typeAsFullyQualified!!.fullyQualifiedName).isEqualTo("java.util.List")
+        }
+    }
+}
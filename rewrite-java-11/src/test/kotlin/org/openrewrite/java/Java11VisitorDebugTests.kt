@@ -20,6 +20,7 @@ import org.openrewrite.DebugOnly
 import org.openrewrite.java.cleanup.*
 import org.openrewrite.java.format.*
 import org.openrewrite.java.internal.TypeCacheTest
+import org.openrewrite.java.internal.template.JavaTemplateParserTest
 import org.openrewrite.java.search.*
 import org.openrewrite.java.security.SecureTempFileCreationTest
 import org.openrewrite.java.security.XmlParserXXEVulnerabilityTest
@@ -214,6 +215,10 @@ class Java11InvertConditionTest : Java11Test, InvertConditionTest
 @ExtendWith(JavaParserResolver::class)
 class Java11JavaTemplateTest : Java11Test, JavaTemplateTest
 
+@DebugOnly
+@ExtendWith(JavaParserResolver::class)
+class Java11JavaTemplateParserTest : Java11Test, JavaTemplateParserTest
+
 @DebugOnly
 @ExtendWith(JavaParserResolver::class)
 class Java11JavaTemplateSubstitutionsTest : Java11Test, JavaTemplateSubstitutionsTest
@@ -20,6 +20,7 @@ import org.openrewrite.DebugOnly
 import org.openrewrite.java.cleanup.*
 import org.openrewrite.java.format.*
 import org.openrewrite.java.internal.TypeCacheTest
+import org.openrewrite.java.internal.template.JavaTemplateParserTest
 import org.openrewrite.java.search.*
 import org.openrewrite.java.security.SecureTempFileCreationTest
 import org.openrewrite.java.security.XmlParserXXEVulnerabilityTest
@@ -214,6 +215,10 @@ class Java8InvertConditionTest : Java8Test, InvertConditionTest
 @ExtendWith(JavaParserResolver::class)
 class Java8JavaTemplateTest : Java8Test, JavaTemplateTest
 
+@DebugOnly
+@ExtendWith(JavaParserResolver::class)
+class Java8JavaTemplateParserTest : Java8Test, JavaTemplateParserTest
+
 @DebugOnly
 @ExtendWith(JavaParserResolver::class)
 class Java8JavaTemplateSubstitutionsTest : Java8Test, JavaTemplateSubstitutionsTest
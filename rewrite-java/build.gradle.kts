@@ -21,6 +21,7 @@ dependencies {
     compileOnly("com.puppycrawl.tools:checkstyle:latest.release")
     implementation("commons-lang:commons-lang:latest.release")
     implementation("io.github.classgraph:classgraph:latest.release")
+    implementation("com.github.ben-manes.caffeine:caffeine:2.+")
 
     api("com.fasterxml.jackson.core:jackson-annotations:2.12.+")
 
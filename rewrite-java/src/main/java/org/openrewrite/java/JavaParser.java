@@ -159,7 +159,7 @@ public interface JavaParser extends Parser<J.CompilationUnit> {
     void setClasspath(Collection<Path> classpath);
 
     @SuppressWarnings("unchecked")
-    abstract class Builder<P extends JavaParser, B extends Builder<P, B>> {
+    abstract class Builder<P extends JavaParser, B extends Builder<P, B>> implements Cloneable {
         @Nullable
         protected Collection<Path> classpath = Collections.emptyList();
 
@@ -171,25 +171,37 @@ public interface JavaParser extends Parser<J.CompilationUnit> {
         protected Charset charset = Charset.defaultCharset();
         protected boolean relaxedClassTypeMatching = false;
         protected boolean logCompilationWarningsAndErrors = false;
-        protected final List<NamedStyles> styles = new ArrayList<>();
+        protected List<NamedStyles> styles = new ArrayList<>();
+
+        /**
+         * Identifies the configuration of the parsers this builds to {@link JavaTemplate}, which reuses parsers
+         * between templates built with the same key. Computing it reads the classpath and dependencies, so it is
+         * kept until this builder is changed.
+         */
+        @Nullable
+        String templateParserKey;
 
         public B logCompilationWarningsAndErrors(boolean logCompilationWarningsAndErrors) {
             this.logCompilationWarningsAndErrors = logCompilationWarningsAndErrors;
+            this.templateParserKey = null;
             return (B) this;
         }
 
         public B charset(Charset charset) {
             this.charset = charset;
+            this.templateParserKey = null;
             return (B) this;
         }
 
         public B relaxedClassTypeMatching(boolean relaxedClassTypeMatching) {
             this.relaxedClassTypeMatching = relaxedClassTypeMatching;
+            this.templateParserKey = null;
             return (B) this;
         }
 
         public B dependsOn(Collection<Input> inputs) {
             this.dependsOn = inputs;
+            this.templateParserKey = null;
             return (B) this;
         }
 
@@ -197,21 +209,25 @@ public interface JavaParser extends Parser<J.CompilationUnit> {
             this.dependsOn = Arrays.stream(inputsAsStrings)
                     .map(Input::fromString)
                     .collect(toList());
+            this.templateParserKey = null;
             return (B) this;
         }
 
         public B classpath(Collection<Path> classpath) {
             this.classpath = classpath;
+            this.templateParserKey = null;
             return (B) this;
         }
 
         public B classpath(String... classpath) {
             this.classpath = dependenciesFromClasspath(classpath);
+            this.templateParserKey = null;
             return (B) this;
         }
 
         public B classpath(byte[]... classpath) {
             this.classBytesClasspath = Arrays.asList(classpath);
+            this.templateParserKey = null;
             return (B) this;
         }
 
@@ -219,9 +235,38 @@ public interface JavaParser extends Parser<J.CompilationUnit> {
             for (NamedStyles style : styles) {
                 this.styles.add(style);
             }
+            this.templateParserKey = null;
             return (B) this;
         }
 
         public abstract P build();
+
+        /**
+         * @return Whatever a subclass configures that changes the parsers it builds, e.g. a cache they share,
+         * to be part of the {@link #templateParserKey}.
+         */
+        protected String templateParserConfiguration() {
+            return "";
+        }
+
+        /**
+         * @return A copy of this builder that later changes to this builder don't affect, e.g. to build parsers
+         * with long after the template that needed them was built, or to build parsers that differ in some
+         * setting without changing this builder.
+         */
+        @SuppressWarnings("unchecked")
+        public B copy() {
+            try {
+                B copy = (B) super.clone();
+                Builder<P, B> b = copy;
+                b.classpath = classpath == null ? null : new ArrayList<>(classpath);
+                b.classBytesClasspath = new ArrayList<>(classBytesClasspath);
+                b.dependsOn = dependsOn == null ? null : new ArrayList<>(dependsOn);
+                b.styles = new ArrayList<>(styles);
+                return copy;
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
     }
 }
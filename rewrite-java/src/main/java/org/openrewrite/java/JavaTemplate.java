@@ -16,17 +16,22 @@
 package org.openrewrite.java;
 
 import org.openrewrite.Cursor;
+import org.openrewrite.ParseCache;
+import org.openrewrite.Parser;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.internal.template.JavaParserPool;
 import org.openrewrite.java.internal.template.JavaTemplateParser;
 import org.openrewrite.java.internal.template.Substitutions;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.java.tree.Space.Location;
 import org.openrewrite.marker.Markers;
+import org.openrewrite.style.NamedStyles;
 import org.openrewrite.template.SourceTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -51,7 +56,7 @@ public class JavaTemplate implements SourceTemplate<J, JavaCoordinates> {
     private final Consumer<String> onAfterVariableSubstitution;
     private final JavaTemplateParser templateParser;
 
-    private JavaTemplate(Supplier<Cursor> parentScopeGetter, Supplier<JavaParser> parser, String code, Set<String> imports,
+    private JavaTemplate(Supplier<Cursor> parentScopeGetter, JavaParserPool parser, String code, Set<String> imports,
                          Consumer<String> onAfterVariableSubstitution, Consumer<String> onBeforeParseTemplate) {
         this.parentScopeGetter = parentScopeGetter;
         this.code = code;
@@ -447,7 +452,11 @@ public class JavaTemplate implements SourceTemplate<J, JavaCoordinates> {
         private final String code;
         private final Set<String> imports = new HashSet<>();
 
-        private Supplier<JavaParser> javaParser = () -> JavaParser.fromJavaVersion().build();
+        @Nullable
+        private Supplier<JavaParser> javaParser;
+
+        @Nullable
+        private JavaParser.Builder<?, ?> javaParserBuilder;
 
         private Consumer<String> onAfterVariableSubstitution = s -> {
         };
@@ -483,8 +492,26 @@ public class JavaTemplate implements SourceTemplate<J, JavaCoordinates> {
             return this;
         }
 
+        /**
+         * @param javaParser Builds a new parser for every template compiled.
+         * @return This builder.
+         */
         public Builder javaParser(Supplier<JavaParser> javaParser) {
             this.javaParser = javaParser;
+            this.javaParserBuilder = null;
+            return this;
+        }
+
+        /**
+         * Compile templates with parsers built by {@code javaParser}, which are reused by every template compiled
+         * against the same classpath and dependencies rather than built anew for each template.
+         *
+         * @param javaParser A builder for the parsers to compile templates with.
+         * @return This builder.
+         */
+        public Builder javaParser(JavaParser.Builder<?, ?> javaParser) {
+            this.javaParserBuilder = javaParser;
+            this.javaParser = null;
             return this;
         }
 
@@ -499,8 +526,45 @@ public class JavaTemplate implements SourceTemplate<J, JavaCoordinates> {
         }
 
         public JavaTemplate build() {
-            return new JavaTemplate(parentScope, javaParser, code, imports,
+            JavaParserPool parserPool;
+            if (javaParser != null) {
+                parserPool = JavaParserPool.unpooled(javaParser);
+            } else {
+                JavaParser.Builder<?, ?> builder = javaParserBuilder == null ? JavaParser.fromJavaVersion() : javaParserBuilder;
+                String key = builder.templateParserKey;
+                if (key == null) {
+                    key = parserPoolKey(builder);
+                    builder.templateParserKey = key;
+                }
+                // a copy, so that changing the caller's builder later can't change the parsers pooled under this key
+                parserPool = JavaParserPool.shared(key, builder.copy()::build);
+            }
+            return new JavaTemplate(parentScope, parserPool, code, imports,
                     onAfterVariableSubstitution, onBeforeParseTemplate);
         }
+
+        private static String parserPoolKey(JavaParser.Builder<?, ?> builder) {
+            List<byte[]> parts = new ArrayList<>();
+            parts.add(utf8(builder.getClass().getName()));
+            parts.add(utf8(builder.charset.name() + ";" + builder.relaxedClassTypeMatching + ";" +
+                    builder.logCompilationWarningsAndErrors + ";" + builder.templateParserConfiguration()));
+            parts.add(ParseCache.classpathFingerprint(builder.classpath));
+            parts.addAll(builder.classBytesClasspath);
+            if (builder.dependsOn != null) {
+                for (Parser.Input input : builder.dependsOn) {
+                    // synthetic inputs are named for the time they were created, so only their content matters
+                    parts.add(utf8(input.isSynthetic() ? "" : input.getPath().toString()));
+                    parts.add(utf8(StringUtils.readFully(input.getSource())));
+                }
+            }
+            for (NamedStyles style : builder.styles) {
+                parts.add(utf8(style.getName()));
+            }
+            return ParseCache.key(parts.toArray(new byte[0][]));
+        }
+
+        private static byte[] utf8(String s) {
+            return s.getBytes(StandardCharsets.UTF_8);
+        }
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.antlr.v4.runtime.CharStreams;
@@ -66,6 +67,22 @@ public class MethodMatcher {
     private Pattern methodNamePattern;
     private Pattern argumentPattern;
 
+    /**
+     * When the patterns contain no wildcards, which is by far the most common case, types and names are compared
+     * directly with these rather than with the patterns.
+     */
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    private String targetType;
+
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    private String methodName;
+
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    private ArgumentsMatcher arguments;
+
     /**
      * Whether to match overridden forms of the method on subclasses of {@link #targetTypePattern}.
      */
@@ -81,11 +98,15 @@ public class MethodMatcher {
             @Override
             public Void visitMethodPattern(MethodSignatureParser.MethodPatternContext ctx) {
                 targetTypePattern = Pattern.compile(new TypeVisitor().visitTargetTypePattern(ctx.targetTypePattern()));
+                targetType = AspectjUtils.literal(targetTypePattern.pattern());
                 methodNamePattern = Pattern.compile(ctx.simpleNamePattern().children.stream()
                         .map(c -> AspectjUtils.aspectjNameToPattern(c.toString()))
                         .collect(joining("")));
-                argumentPattern = Pattern.compile(new FormalParameterVisitor().visitFormalParametersPattern(
+                methodName = AspectjUtils.literal(methodNamePattern.pattern());
+                FormalParameterVisitor formalParameterVisitor = new FormalParameterVisitor();
+                argumentPattern = Pattern.compile(formalParameterVisitor.visitFormalParametersPattern(
                         ctx.formalParametersPattern()));
+                arguments = formalParameterVisitor.compile();
                 return null;
             }
         }.visit(parser.methodPattern());
@@ -110,12 +131,9 @@ public class MethodMatcher {
 
         JavaType.Method methodType = (JavaType.Method) type;
 
-        return matchesTargetType(methodType.getDeclaringType()) &&
-                methodNamePattern.matcher(methodType.getName()).matches() &&
-                argumentPattern.matcher(methodType.getGenericSignature().getParamTypes().stream()
-                        .map(MethodMatcher::typePattern)
-                        .filter(Objects::nonNull)
-                        .collect(joining(","))).matches();
+        return matchesMethodName(methodType.getName()) &&
+                matchesTargetType(methodType.getDeclaringType()) &&
+                matchesArguments(methodType.getGenericSignature().getParamTypes());
     }
 
     public boolean matches(J.MethodDeclaration method, J.ClassDeclaration enclosing) {
@@ -160,12 +178,22 @@ public class MethodMatcher {
             return false;
         }
 
-        return matchesTargetType(method.getType().getDeclaringType()) &&
-                methodNamePattern.matcher(method.getSimpleName()).matches() &&
-                argumentPattern.matcher(method.getType().getResolvedSignature().getParamTypes().stream()
+        return matchesMethodName(method.getSimpleName()) &&
+                matchesTargetType(method.getType().getDeclaringType()) &&
+                matchesArguments(method.getType().getResolvedSignature().getParamTypes());
+    }
+
+    private boolean matchesMethodName(String name) {
+        return methodName == null ? methodNamePattern.matcher(name).matches() : methodName.equals(name);
+    }
+
+    private boolean matchesArguments(List<JavaType> parameterTypes) {
+        return arguments == null ?
+                argumentPattern.matcher(parameterTypes.stream()
                         .map(MethodMatcher::typePattern)
                         .filter(Objects::nonNull)
-                        .collect(joining(","))).matches();
+                        .collect(joining(","))).matches() :
+                arguments.matches(parameterTypes);
     }
 
     public boolean matches(J.NewClass constructor) {
@@ -195,7 +223,8 @@ public class MethodMatcher {
             return false;
         }
 
-        if (targetTypePattern.matcher(type.getFullyQualifiedName()).matches()) {
+        if (targetType == null ? targetTypePattern.matcher(type.getFullyQualifiedName()).matches() :
+                targetType.equals(type.getFullyQualifiedName())) {
             return true;
         } else if (type != JavaType.Class.OBJECT && (matchesTargetType(type.getSupertype() == null ? JavaType.Class.OBJECT : type.getSupertype()))) {
             return true;
@@ -230,7 +259,7 @@ public class MethodMatcher {
     }
 
     @Nullable
-    private static String typePattern(JavaType type) {
+    static String typePattern(JavaType type) {
         if (type instanceof JavaType.Primitive) {
             return ((JavaType.Primitive) type).getKeyword();
         } else if (type instanceof JavaType.FullyQualified) {
@@ -341,6 +370,28 @@ class FormalParameterVisitor extends MethodSignatureParserBaseVisitor<String> {
         return String.join("", argumentPatterns).replace("...", "\\[\\]");
     }
 
+    /**
+     * @return A matcher equivalent to the argument pattern, if every argument other than .. is a literal type.
+     */
+    @Nullable
+    ArgumentsMatcher compile() {
+        List<String> before = new ArrayList<>();
+        List<String> after = new ArrayList<>();
+        boolean dotDot = false;
+        for (Argument argument : arguments) {
+            if (argument == Argument.DOT_DOT) {
+                dotDot = true;
+                continue;
+            }
+            String literal = AspectjUtils.literal(argument.getRegex());
+            if (literal == null) {
+                return null;
+            }
+            (dotDot ? after : before).add(literal);
+        }
+        return new ArgumentsMatcher(before.toArray(new String[0]), dotDot, after.toArray(new String[0]));
+    }
+
     private static abstract class Argument {
         abstract String getRegex();
 
@@ -370,10 +421,106 @@ class FormalParameterVisitor extends MethodSignatureParserBaseVisitor<String> {
     }
 }
 
+/**
+ * Matches a list of parameter types against literal types before and after an optional .., without building the
+ * comma-delimited string of types that the argument pattern matches. Parameter types that have no
+ * {@link MethodMatcher#typePattern(JavaType) type pattern} are skipped, just as they are left out of that string.
+ */
+class ArgumentsMatcher {
+    private final String[] before;
+    private final boolean dotDot;
+    private final String[] after;
+
+    ArgumentsMatcher(String[] before, boolean dotDot, String[] after) {
+        this.before = before;
+        this.dotDot = dotDot;
+        this.after = after;
+    }
+
+    boolean matches(List<JavaType> parameterTypes) {
+        int count = 0;
+        for (JavaType parameterType : parameterTypes) {
+            if (hasTypePattern(parameterType)) {
+                count++;
+            }
+        }
+
+        if (dotDot ? count < before.length + after.length : count != before.length) {
+            return false;
+        }
+
+        int i = 0;
+        for (JavaType parameterType : parameterTypes) {
+            if (!hasTypePattern(parameterType)) {
+                continue;
+            }
+            if (i < before.length) {
+                if (!matches(parameterType, before[i], before[i].length())) {
+                    return false;
+                }
+            } else if (i >= count - after.length) {
+                String literal = after[i - (count - after.length)];
+                if (!matches(parameterType, literal, literal.length())) {
+                    return false;
+                }
+            }
+            i++;
+        }
+        return true;
+    }
+
+    private static boolean hasTypePattern(@Nullable JavaType type) {
+        return type instanceof JavaType.Primitive || type instanceof JavaType.FullyQualified ||
+                (type instanceof JavaType.Array && ((JavaType.Array) type).getElemType() != null);
+    }
+
+    /**
+     * @return Whether the type pattern of {@code type} is equal to the first {@code length} characters of {@code literal}.
+     */
+    private static boolean matches(@Nullable JavaType type, String literal, int length) {
+        if (type instanceof JavaType.Primitive) {
+            String keyword = ((JavaType.Primitive) type).getKeyword();
+            return keyword.length() == length && literal.regionMatches(0, keyword, 0, length);
+        } else if (type instanceof JavaType.FullyQualified) {
+            String fqn = ((JavaType.FullyQualified) type).getFullyQualifiedName();
+            return fqn.length() == length && literal.regionMatches(0, fqn, 0, length);
+        } else if (type instanceof JavaType.Array) {
+            JavaType elemType = ((JavaType.Array) type).getElemType();
+            if (elemType != null) {
+                return length >= 2 && literal.charAt(length - 2) == '[' && literal.charAt(length - 1) == ']' &&
+                        matches(elemType, literal, length - 2);
+            }
+        }
+        return false;
+    }
+}
+
 class AspectjUtils {
     private AspectjUtils() {
     }
 
+    /**
+     * @param pattern A regular expression produced from an AspectJ name or type pattern.
+     * @return The name or type matched by the pattern, if it contains no wildcards, or {@code null} otherwise.
+     */
+    @Nullable
+    static String literal(String pattern) {
+        StringBuilder literal = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length() && (pattern.charAt(i + 1) == '.' ||
+                    pattern.charAt(i + 1) == '[' || pattern.charAt(i + 1) == ']')) {
+                literal.append(pattern.charAt(++i));
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '.') {
+                // an unescaped '.' is how a type in java.lang is matched, e.g. java.lang.String
+                literal.append(c);
+            } else {
+                return null;
+            }
+        }
+        return literal.toString();
+    }
+
     /**
      * See https://eclipse.org/aspectj/doc/next/progguide/semantics-pointcuts.html#type-patterns
      * <p>
@@ -41,31 +41,23 @@ public class AutoFormatVisitor<P> extends JavaIsoVisitor<P> {
     @Override
     public J visit(@Nullable Tree tree, P p, Cursor cursor) {
         J.CompilationUnit cu = cursor.firstEnclosingOrThrow(J.CompilationUnit.class);
+        Styles styles = new Styles(cu);
 
         J t = new NormalizeFormatVisitor<>().visit(tree, p, cursor.fork());
 
-        t = new MinimumViableSpacingVisitor<>(stopAfter).visit(t, p, cursor.fork());
+        // also removes trailing whitespace, which would otherwise be another pass over the whole tree
+        t = new TrimmingMinimumViableSpacingVisitor<P>(stopAfter).visit(t, p, cursor.fork());
 
-        t = new RemoveTrailingWhitespaceVisitor<>().visit(t, p, cursor.fork());
-
-        t = new BlankLinesVisitor<>(Optional.ofNullable(cu.getStyle(BlankLinesStyle.class))
-                .orElse(IntelliJ.blankLines()), stopAfter)
+        t = new BlankLinesVisitor<>(styles.blankLines, stopAfter)
                 .visit(t, p, cursor.fork());
 
-        t = new SpacesVisitor<>(
-                Optional.ofNullable(cu.getStyle(SpacesStyle.class)).orElse(IntelliJ.spaces()),
-                cu.getStyle(EmptyForInitializerPadStyle.class),
-                cu.getStyle(EmptyForIteratorPadStyle.class),
-                stopAfter
-        )
+        t = new SpacesVisitor<>(styles.spaces, styles.emptyForInitializerPad, styles.emptyForIteratorPad, stopAfter)
                 .visit(t, p, cursor.fork());
 
-        t = new WrappingAndBracesVisitor<>(Optional.ofNullable(cu.getStyle(WrappingAndBracesStyle.class))
-                .orElse(IntelliJ.wrappingAndBraces()), stopAfter)
+        t = new WrappingAndBracesVisitor<>(styles.wrappingAndBraces, stopAfter)
                 .visit(t, p, cursor.fork());
 
-        t = new TabsAndIndentsVisitor<>(Optional.ofNullable(cu.getStyle(TabsAndIndentsStyle.class))
-                .orElse(IntelliJ.tabsAndIndents()), stopAfter)
+        t = new TabsAndIndentsVisitor<>(styles.tabsAndIndents, stopAfter)
                 .visit(t, p, cursor.fork());
 
         return t;
@@ -73,28 +65,53 @@ public class AutoFormatVisitor<P> extends JavaIsoVisitor<P> {
 
     @Override
     public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, P p) {
+        Styles styles = new Styles(cu);
+
         J.CompilationUnit t = (J.CompilationUnit) new RemoveTrailingWhitespaceVisitor<>().visit(cu, p);
 
-        t = (J.CompilationUnit) new BlankLinesVisitor<>(Optional.ofNullable(cu.getStyle(BlankLinesStyle.class))
-                .orElse(IntelliJ.blankLines()), stopAfter)
+        t = (J.CompilationUnit) new BlankLinesVisitor<>(styles.blankLines, stopAfter)
                 .visit(t, p);
 
-        t = (J.CompilationUnit) new SpacesVisitor<P>(Optional.ofNullable(
-                cu.getStyle(SpacesStyle.class)).orElse(IntelliJ.spaces()),
-                cu.getStyle(EmptyForInitializerPadStyle.class),
-                cu.getStyle(EmptyForIteratorPadStyle.class),
-                stopAfter)
+        t = (J.CompilationUnit) new SpacesVisitor<P>(styles.spaces, styles.emptyForInitializerPad,
+                styles.emptyForIteratorPad, stopAfter)
                 .visit(t, p);
 
-        t = (J.CompilationUnit) new WrappingAndBracesVisitor<>(Optional.ofNullable(cu.getStyle(WrappingAndBracesStyle.class))
-                .orElse(IntelliJ.wrappingAndBraces()), stopAfter)
+        t = (J.CompilationUnit) new WrappingAndBracesVisitor<>(styles.wrappingAndBraces, stopAfter)
                 .visit(t, p);
 
-        t = (J.CompilationUnit) new TabsAndIndentsVisitor<>(Optional.ofNullable(cu.getStyle(TabsAndIndentsStyle.class))
-                .orElse(IntelliJ.tabsAndIndents()), stopAfter)
+        t = (J.CompilationUnit) new TabsAndIndentsVisitor<>(styles.tabsAndIndents, stopAfter)
                 .visit(t, p);
 
         assert t != null;
         return t;
     }
+
+    /**
+     * Each style lookup merges all of the compilation unit's named styles, so do it once per compilation unit
+     * rather than once per formatting pass.
+     */
+    private static class Styles {
+        private final BlankLinesStyle blankLines;
+        private final SpacesStyle spaces;
+
+        @Nullable
+        private final EmptyForInitializerPadStyle emptyForInitializerPad;
+
+        @Nullable
+        private final EmptyForIteratorPadStyle emptyForIteratorPad;
+
+        private final WrappingAndBracesStyle wrappingAndBraces;
+        private final TabsAndIndentsStyle tabsAndIndents;
+
+        private Styles(J.CompilationUnit cu) {
+            this.blankLines = Optional.ofNullable(cu.getStyle(BlankLinesStyle.class)).orElse(IntelliJ.blankLines());
+            this.spaces = Optional.ofNullable(cu.getStyle(SpacesStyle.class)).orElse(IntelliJ.spaces());
+            this.emptyForInitializerPad = cu.getStyle(EmptyForInitializerPadStyle.class);
+            this.emptyForIteratorPad = cu.getStyle(EmptyForIteratorPadStyle.class);
+            this.wrappingAndBraces = Optional.ofNullable(cu.getStyle(WrappingAndBracesStyle.class))
+                    .orElse(IntelliJ.wrappingAndBraces());
+            this.tabsAndIndents = Optional.ofNullable(cu.getStyle(TabsAndIndentsStyle.class))
+                    .orElse(IntelliJ.tabsAndIndents());
+        }
+    }
 }
@@ -22,21 +22,27 @@ import org.openrewrite.java.tree.Space;
 public class RemoveTrailingWhitespaceVisitor<P> extends JavaIsoVisitor<P> {
     @Override
     public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, P p) {
-        String eof = cu.getEof().getWhitespace();
-        eof = eof.chars().filter(c -> c == '\n' || c == '\r')
-                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
-                .toString();
-
+        String eof = newlinesOnly(cu.getEof());
         J.CompilationUnit c = super.visitCompilationUnit(cu, p);
         return c.withEof(c.getEof().withWhitespace(eof));
     }
 
     @Override
     public Space visitSpace(Space space, Space.Location loc, P p) {
+        return removeTrailingWhitespace(space, loc);
+    }
+
+    static String newlinesOnly(Space space) {
+        return space.getWhitespace().chars().filter(c -> c == '\n' || c == '\r')
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+    }
+
+    static Space removeTrailingWhitespace(Space space, Space.Location loc) {
         Space s = space;
         int lastNewline = s.getWhitespace().lastIndexOf('\n');
         // Skip import prefixes, leave those up to OrderImports which better understands that domain
-        if (lastNewline > 0 && loc != Space.Location.IMPORT_PREFIX ) {
+        if (lastNewline > 0 && loc != Space.Location.IMPORT_PREFIX && hasTrailingWhitespace(s.getWhitespace(), lastNewline)) {
             StringBuilder ws = new StringBuilder();
             char[] charArray = s.getWhitespace().toCharArray();
             for (int i = 0; i < charArray.length; i++) {
@@ -51,4 +57,14 @@ public class RemoveTrailingWhitespaceVisitor<P> extends JavaIsoVisitor<P> {
         }
         return s;
     }
+
+    private static boolean hasTrailingWhitespace(String whitespace, int lastNewline) {
+        for (int i = 0; i < lastNewline; i++) {
+            char c = whitespace.charAt(i);
+            if (c != '\r' && c != '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.format;
+
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Space;
+
+/**
+ * Applies {@link MinimumViableSpacingVisitor} and {@link RemoveTrailingWhitespaceVisitor} in one pass.
+ * <p>
+ * The two commute: minimum viable spacing only tests whether whitespace is empty, which removing trailing whitespace
+ * never changes, and only ever writes a single space, which has no trailing whitespace to remove. So the result is
+ * the same as running one after the other.
+ */
+class TrimmingMinimumViableSpacingVisitor<P> extends MinimumViableSpacingVisitor<P> {
+    TrimmingMinimumViableSpacingVisitor(@Nullable Tree stopAfter) {
+        super(stopAfter);
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, P p) {
+        String eof = RemoveTrailingWhitespaceVisitor.newlinesOnly(cu.getEof());
+        J.CompilationUnit c = super.visitCompilationUnit(cu, p);
+        return c.withEof(c.getEof().withWhitespace(eof));
+    }
+
+    @Override
+    public Space visitSpace(Space space, Space.Location loc, P p) {
+        return RemoveTrailingWhitespaceVisitor.removeTrailingWhitespace(space, loc);
+    }
+
+    @Nullable
+    @Override
+    public J visit(@Nullable Tree tree, P p) {
+        if (getCursor().getNearestMessage("stop") != null) {
+            // minimum viable spacing leaves the rest of the tree alone, but trailing whitespace is still removed
+            return new RemoveTrailingWhitespaceVisitor<P>().visit(tree, p, getCursor());
+        }
+        return super.visit(tree, p);
+    }
+}
@@ -22,16 +22,48 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.*;
 
+import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * The package declaration and classes that types were collected from are only weakly referred to, so that a cache
+ * carried along to new versions of a compilation unit does not keep the trees of older versions reachable. While a
+ * compilation unit that the cache is valid for is reachable, so are they.
+ */
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@Getter
 public class TypeCache {
-    private final J.CompilationUnit cu;
+    /**
+     * {@code null} when the compilation unit had no package declaration.
+     */
+    @Nullable
+    private final WeakReference<J.Package> packageDeclaration;
+
+    private final WeakReference<List<J.ClassDeclaration>> classes;
+
+    @Getter
     private final Set<JavaType> typesInUse;
+
+    @Getter
     private final Set<JavaType.Method> declaredMethods;
 
+    /**
+     * Types in use are only collected from the package declaration and classes, so any compilation unit that shares
+     * both of these with the one this cache was built for has the same types in use, regardless of changes to its
+     * imports, whitespace or markers.
+     *
+     * @param cu A compilation unit, perhaps derived from the one this cache was built for.
+     * @return {@code true} if this cache is accurate for the compilation unit.
+     */
+    public boolean isValidFor(J.CompilationUnit cu) {
+        J.Package pkg = cu.getPackageDeclaration();
+        if (packageDeclaration == null ? pkg != null : pkg == null || packageDeclaration.get() != pkg) {
+            return false;
+        }
+        return classes.get() == cu.getClasses();
+    }
+
     public static TypeCache build(J.CompilationUnit cu) {
         Set<JavaType> types = new HashSet<JavaType>() {
             @Override
@@ -216,6 +248,8 @@ public class TypeCache {
             }
         }.visit(cu, 0);
 
-        return new TypeCache(cu, types, declaredMethods);
+        J.Package pkg = cu.getPackageDeclaration();
+        return new TypeCache(pkg == null ? null : new WeakReference<>(pkg), new WeakReference<>(cu.getClasses()),
+                types, declaredMethods);
     }
 }
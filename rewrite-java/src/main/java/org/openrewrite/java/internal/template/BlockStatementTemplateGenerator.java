@@ -32,6 +32,10 @@ import static java.util.Collections.newSetFromMap;
 /**
  * Generates a stub containing enough variable, method, and class scope
  * for the insertion of a statement in any block scope.
+ * <p>
+ * Only the fields, methods, local variables and imports whose names the template (or the rest of the stub)
+ * refers to are declared, since nothing else can affect how the template is attributed. Stubs for the same
+ * template at different insertion points are then often identical, and so compiled once and cached.
  */
 @RequiredArgsConstructor
 public class BlockStatementTemplateGenerator {
@@ -56,7 +60,8 @@ public class BlockStatementTemplateGenerator {
                         after.append('}');
                     }
 
-                    template(next(cursor), cursor.getValue(), before, after, newSetFromMap(new IdentityHashMap<>()));
+                    template(next(cursor), cursor.getValue(), before, after, newSetFromMap(new IdentityHashMap<>()),
+                            identifiers(template, new HashSet<>()));
 
                     return before.toString().trim() + "\n/*" + TEMPLATE_COMMENT + "*/" + template + "\n" + after;
                 });
@@ -115,13 +120,18 @@ public class BlockStatementTemplateGenerator {
     }
 
     @SuppressWarnings("ConstantConditions")
-    private void template(Cursor cursor, J prior, StringBuilder before, StringBuilder after, Set<J> templated) {
+    private void template(Cursor cursor, J prior, StringBuilder before, StringBuilder after, Set<J> templated,
+                          Set<String> referenced) {
         templated.add(cursor.getValue());
         J j = cursor.getValue();
         if (j instanceof J.CompilationUnit) {
             J.CompilationUnit cu = (J.CompilationUnit) j;
+            Set<String> referencedByStub = identifiers(after, identifiers(before, new HashSet<>(referenced)));
             for (J.Import anImport : cu.getImports()) {
-                before.insert(0, anImport.withPrefix(Space.EMPTY).printTrimmed() + ";\n");
+                String importedName = anImport.getQualid().getSimpleName();
+                if ("*".equals(importedName) || referencedByStub.contains(importedName)) {
+                    before.insert(0, anImport.withPrefix(Space.EMPTY).printTrimmed() + ";\n");
+                }
             }
             for (String anImport : imports) {
                 before.insert(0, anImport);
@@ -134,7 +144,7 @@ public class BlockStatementTemplateGenerator {
         } else if (j instanceof J.Block) {
             J parent = next(cursor).getValue();
             if (parent instanceof J.ClassDeclaration) {
-                classDeclaration(prior, before, (J.ClassDeclaration) parent, templated);
+                classDeclaration(prior, before, (J.ClassDeclaration) parent, templated, referenced);
             } else if (parent instanceof J.MethodDeclaration) {
                 J.MethodDeclaration m = (J.MethodDeclaration) parent;
 
@@ -143,7 +153,7 @@ public class BlockStatementTemplateGenerator {
                 for (Statement statement : m.getBody().getStatements()) {
                     if (statement == prior) {
                         break;
-                    } else if (statement instanceof J.VariableDeclarations) {
+                    } else if (statement instanceof J.VariableDeclarations && isReferenced(statement, referenced)) {
                         before.insert(0, "\n" +
                                 variable((J.VariableDeclarations) statement, true) +
                                 ";\n");
@@ -169,7 +179,7 @@ public class BlockStatementTemplateGenerator {
                 for (Statement statement : b.getStatements()) {
                     if (statement == prior) {
                         break;
-                    } else if (statement instanceof J.VariableDeclarations) {
+                    } else if (statement instanceof J.VariableDeclarations && isReferenced(statement, referenced)) {
                         before.insert(0, "\n" +
                                 variable((J.VariableDeclarations) statement, true) +
                                 ";\n");
@@ -224,10 +234,11 @@ public class BlockStatementTemplateGenerator {
         } else if (j instanceof J.VariableDeclarations) {
             before.insert(0, variable((J.VariableDeclarations) j, false) + '=');
         }
-        template(next(cursor), j, before, after, templated);
+        template(next(cursor), j, before, after, templated, referenced);
     }
 
-    private void classDeclaration(@Nullable J prior, StringBuilder before, J.ClassDeclaration parent, Set<J> templated) {
+    private void classDeclaration(@Nullable J prior, StringBuilder before, J.ClassDeclaration parent, Set<J> templated,
+                                  Set<String> referenced) {
         J.ClassDeclaration c = parent;
         for (Statement statement : c.getBody().getStatements()) {
             if(templated.contains(statement)) {
@@ -235,22 +246,56 @@ public class BlockStatementTemplateGenerator {
             }
 
             if (statement instanceof J.VariableDeclarations) {
-                before.insert(0, variable((J.VariableDeclarations) statement, false) + ";\n");
+                if (isReferenced(statement, referenced)) {
+                    before.insert(0, variable((J.VariableDeclarations) statement, false) + ";\n");
+                }
             } else if (statement instanceof J.MethodDeclaration) {
-                if (statement != prior) {
+                if (statement != prior && isReferenced(statement, referenced)) {
                     before.insert(0, method((J.MethodDeclaration) statement));
                 }
             } else if (statement instanceof J.ClassDeclaration) {
-                // this is a sibling class. we need declarations for all variables and methods.
+                // this is a sibling class. we need declarations for all variables and methods referenced.
                 // setting prior to null will cause them all to be written.
                 before.insert(0, '}');
-                classDeclaration(null, before, (J.ClassDeclaration) statement, templated);
+                classDeclaration(null, before, (J.ClassDeclaration) statement, templated, referenced);
             }
         }
         c = c.withBody(null).withLeadingAnnotations(null).withPrefix(Space.EMPTY);
         before.insert(0, c.printTrimmed().trim() + '{');
     }
 
+    private static boolean isReferenced(Statement statement, Set<String> referenced) {
+        if (statement instanceof J.VariableDeclarations) {
+            for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) statement).getVariables()) {
+                if (referenced.contains(variable.getSimpleName())) {
+                    return true;
+                }
+            }
+        } else if (statement instanceof J.MethodDeclaration) {
+            // constructors are called as this(..) and super(..) as well as by name
+            J.MethodDeclaration method = (J.MethodDeclaration) statement;
+            return method.isConstructor() || referenced.contains(method.getSimpleName());
+        }
+        return false;
+    }
+
+    /**
+     * Adds every Java identifier in some source text to a set. Keywords and the contents of literals and comments
+     * are included too, which at worst declares something in the stub that didn't need to be.
+     */
+    private static Set<String> identifiers(CharSequence source, Set<String> identifiers) {
+        for (int i = 0; i < source.length(); i++) {
+            if (Character.isJavaIdentifierStart(source.charAt(i))) {
+                int start = i;
+                while (i + 1 < source.length() && Character.isJavaIdentifierPart(source.charAt(i + 1))) {
+                    i++;
+                }
+                identifiers.add(source.subSequence(start, i + 1).toString());
+            }
+        }
+        return identifiers;
+    }
+
     private String method(J.MethodDeclaration method) {
         if (method.isAbstract()) {
             return "\n" + method.withPrefix(Space.EMPTY).printTrimmed().trim() + ";\n";
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.openrewrite.java.JavaParser;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Parsers that templates are compiled with. Building a parser sets up a whole javac compiler, which costs far more
+ * than parsing the few lines of a template stub, so parsers are reset and reused rather than rebuilt.
+ * <p>
+ * Borrowing and releasing a parser never blocks. When no idle parser is available, a new one is built, and a
+ * released parser is discarded rather than kept when the pool already holds {@code maxIdle} idle parsers.
+ * <p>
+ * At most {@code MAX_SHARED} shared pools are kept, favoring those used most often. An evicted pool discards its idle
+ * parsers, and any parser released to it afterwards, though templates built with it may still borrow from it.
+ */
+public class JavaParserPool {
+    private static final int MAX_IDLE = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final int MAX_SHARED = 16;
+
+    private static final Cache<String, JavaParserPool> pools = Caffeine.newBuilder()
+            .maximumSize(MAX_SHARED)
+            .removalListener((String key, JavaParserPool pool, RemovalCause cause) -> {
+                if (pool != null) {
+                    pool.evict();
+                }
+            })
+            .build();
+
+    private static final AtomicInteger idleCount = new AtomicInteger();
+    private static final AtomicInteger borrowedCount = new AtomicInteger();
+    private static final LongAdder builtCount = new LongAdder();
+
+    static {
+        Gauge.builder("rewrite.java.template.parsers", idleCount, AtomicInteger::get)
+                .description("The number of template parsers waiting to be borrowed")
+                .tag("state", "idle")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("rewrite.java.template.parsers", borrowedCount, AtomicInteger::get)
+                .description("The number of template parsers compiling a template")
+                .tag("state", "borrowed")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("rewrite.java.template.parsers.built", builtCount, LongAdder::doubleValue)
+                .description("The number of template parsers built because none were idle")
+                .register(Metrics.globalRegistry);
+    }
+
+    private final String key;
+    private final Supplier<JavaParser> parser;
+    private final int maxIdle;
+    private final ConcurrentLinkedDeque<JavaParser> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleSize = new AtomicInteger();
+    private volatile boolean evicted;
+
+    private JavaParserPool(String key, Supplier<JavaParser> parser, int maxIdle) {
+        this.key = key;
+        this.parser = parser;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * @param key    Everything about the parsers' configuration that affects how a template compiles,
+     *               e.g. their classpath and the sources they depend on.
+     * @param parser Builds a parser when none are idle. Only consulted for the first pool with a given key.
+     * @return The pool shared by every template whose parser has this key.
+     */
+    public static JavaParserPool shared(String key, Supplier<JavaParser> parser) {
+        return pools.get(key, k -> new JavaParserPool(k, parser, MAX_IDLE));
+    }
+
+    /**
+     * @param parser Builds a parser for every template compiled.
+     * @return A pool that never keeps a parser for reuse.
+     */
+    public static JavaParserPool unpooled(Supplier<JavaParser> parser) {
+        return new JavaParserPool("", parser, 0);
+    }
+
+    /**
+     * @return The key this pool is shared by, or an empty string if it is not shared. Templates compiled by parsers
+     * with different keys may compile differently.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return A parser that has been reset, which must be {@link #release(JavaParser) released} when done with.
+     */
+    public JavaParser borrow() {
+        JavaParser borrowed = idle.pollFirst();
+        if (borrowed == null) {
+            builtCount.increment();
+            borrowed = parser.get();
+        } else {
+            idleSize.decrementAndGet();
+            idleCount.decrementAndGet();
+        }
+        borrowedCount.incrementAndGet();
+
+        try {
+            return borrowed.reset();
+        } catch (RuntimeException | Error e) {
+            borrowedCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * @param parser A parser previously borrowed from this pool.
+     * @param reuse  Whether the parser is fit to be reused. A parser that failed to parse a template may be
+     *               left in an inconsistent state, and is discarded.
+     */
+    public void release(JavaParser parser, boolean reuse) {
+        borrowedCount.decrementAndGet();
+        if (!reuse || evicted) {
+            return;
+        }
+
+        if (idleSize.incrementAndGet() <= maxIdle) {
+            // most recently used first, so the parsers whose caches are warmest are borrowed again
+            idle.offerFirst(parser);
+            idleCount.incrementAndGet();
+            if (evicted) {
+                // evicted while this parser was being offered, after the idle parsers were discarded
+                discardIdle();
+            }
+        } else {
+            idleSize.decrementAndGet();
+        }
+    }
+
+    public void release(JavaParser parser) {
+        release(parser, true);
+    }
+
+    private void evict() {
+        evicted = true;
+        discardIdle();
+    }
+
+    private void discardIdle() {
+        while (idle.pollFirst() != null) {
+            idleSize.decrementAndGet();
+            idleCount.decrementAndGet();
+        }
+    }
+}
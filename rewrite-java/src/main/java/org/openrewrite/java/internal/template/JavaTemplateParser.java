@@ -15,12 +15,14 @@
  */
 package org.openrewrite.java.internal.template;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.intellij.lang.annotations.Language;
 import org.openrewrite.Cursor;
-import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.PropertyPlaceholderHelper;
 import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.RandomizeIdVisitor;
 import org.openrewrite.java.tree.*;
 
 import java.util.*;
@@ -28,18 +30,25 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static java.util.Collections.singletonList;
+import static org.openrewrite.internal.ConcurrencyUtils.computeOnce;
 
 public class JavaTemplateParser {
     private static final PropertyPlaceholderHelper placeholderHelper = new PropertyPlaceholderHelper("#{", "}", null);
 
-    private final Object templateCacheLock = new Object();
+    /**
+     * Compiled templates, keyed by the key of the parsers that compiled them and the stub they were compiled from.
+     * Each template is compiled at most once at a time: concurrent lookups of a template that is being compiled
+     * wait for it, and no lock is held while compiling.
+     */
+    private static final AsyncCache<String, List<? extends J>> templateCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .recordStats()
+            .buildAsync();
 
-    private static final Map<String, List<? extends J>> templateCache = new LinkedHashMap<String, List<? extends J>>() {
-        @Override
-        protected boolean removeEldestEntry(Map.Entry eldest) {
-            return size() > 10_000;
-        }
-    };
+    static {
+        // hits, misses, evictions and size
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, templateCache.synchronous(), "rewrite.java.template");
+    }
 
     private static final String PACKAGE_STUB = "package #{}; class $Template {}";
     private static final String PARAMETER_STUB = "abstract class $Template { abstract void $template(#{}); }";
@@ -53,7 +62,7 @@ public class JavaTemplateParser {
     @Language("java")
     private static final String SUBSTITUTED_ANNOTATION = "@java.lang.annotation.Documented public @interface SubAnnotation { int value(); }";
 
-    private final Supplier<JavaParser> parser;
+    private final JavaParserPool parserPool;
     private final Consumer<String> onAfterVariableSubstitution;
     private final Consumer<String> onBeforeParseTemplate;
     private final Set<String> imports;
@@ -62,7 +71,12 @@ public class JavaTemplateParser {
 
     public JavaTemplateParser(Supplier<JavaParser> parser, Consumer<String> onAfterVariableSubstitution,
                               Consumer<String> onBeforeParseTemplate, Set<String> imports) {
-        this.parser = parser;
+        this(JavaParserPool.unpooled(parser), onAfterVariableSubstitution, onBeforeParseTemplate, imports);
+    }
+
+    public JavaTemplateParser(JavaParserPool parserPool, Consumer<String> onAfterVariableSubstitution,
+                              Consumer<String> onBeforeParseTemplate, Set<String> imports) {
+        this.parserPool = parserPool;
         this.onAfterVariableSubstitution = onAfterVariableSubstitution;
         this.onBeforeParseTemplate = onBeforeParseTemplate;
         this.imports = imports;
@@ -215,21 +229,27 @@ public class JavaTemplateParser {
     }
 
     private J.CompilationUnit compileTemplate(@Language("java") String stub) {
-        return stub.contains("@SubAnnotation") ?
-                parser.get().reset().parse(stub, SUBSTITUTED_ANNOTATION).get(0) :
-                parser.get().reset().parse(stub).get(0);
+        JavaParser parser = parserPool.borrow();
+        boolean compiled = false;
+        try {
+            J.CompilationUnit cu = stub.contains("@SubAnnotation") ?
+                    parser.parse(stub, SUBSTITUTED_ANNOTATION).get(0) :
+                    parser.parse(stub).get(0);
+            compiled = true;
+            return cu;
+        } finally {
+            parserPool.release(parser, compiled);
+        }
     }
 
+    /**
+     * The trees returned are shared by every use of the template, and must be given ids of their own, as
+     * {@link Substitutions#unsubstitute(J)} does, before they are inserted into a source file.
+     */
     @SuppressWarnings("unchecked")
     private <J2 extends J> List<J2> cache(String stub, Supplier<List<? extends J>> ifAbsent) {
-        List<J2> js;
-        synchronized (templateCacheLock) {
-            js = (List<J2>) templateCache.get(stub);
-            if(js == null) {
-                js = (List<J2>) ifAbsent.get();
-                templateCache.put(stub, js);
-            }
-        }
-        return ListUtils.map(js, j -> (J2) new RandomizeIdVisitor<Integer>().visit(j, 0));
+        // a failure is not cached, so the next lookup compiles the template again
+        return (List<J2>) computeOnce(future -> templateCache.get(parserPool.getKey() + stub,
+                (k, executor) -> future.get()), ifAbsent::get, null).getValue();
     }
 }
@@ -17,6 +17,7 @@ package org.openrewrite.java.internal.template;
 
 import lombok.RequiredArgsConstructor;
 import org.antlr.v4.runtime.*;
+import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.PropertyPlaceholderHelper;
 import org.openrewrite.internal.lang.Nullable;
@@ -25,10 +26,15 @@ import org.openrewrite.java.internal.grammar.TemplateParameterLexer;
 import org.openrewrite.java.internal.grammar.TemplateParameterParser;
 import org.openrewrite.java.tree.*;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+import static org.openrewrite.Tree.randomId;
+
 @RequiredArgsConstructor
 public class Substitutions {
     private static final Pattern PATTERN_COMMENT = Pattern.compile("__p(\\d+)__");
@@ -190,20 +196,32 @@ public class Substitutions {
         return ListUtils.map(js, this::unsubstitute);
     }
 
+    /**
+     * Replaces the placeholders in trees compiled from the substituted template with the parameters they stand for,
+     * and gives every other tree a new id. The compiled trees are shared by every use of the template, and trees
+     * are told apart by id, e.g. by {@link Tree#isScope(Tree)}, so each use needs its own ids. Ids are assigned in
+     * the same pass that replaces the placeholders, rather than in a pass of their own.
+     */
     public <J2 extends J> J2 unsubstitute(J2 j) {
-        if (parameters.length == 0) {
-            return j;
-        }
+        Set<J> substituted = Collections.newSetFromMap(new IdentityHashMap<>());
 
         //noinspection unchecked
         J2 unsub = (J2) new JavaVisitor<Integer>() {
+            @Override
+            public J postVisit(J tree, Integer integer) {
+                // parameters are trees of the caller's, which keep their ids
+                return substituted.contains(tree) ? tree : tree.withId(randomId());
+            }
+
             @SuppressWarnings("ConstantConditions")
             @Override
             public J visitAnnotation(J.Annotation annotation, Integer integer) {
                 if (TypeUtils.isOfClassType(annotation.getType(), "SubAnnotation")) {
                     J.Literal index = (J.Literal) annotation.getArguments().get(0);
                     J a2 = (J) parameters[(Integer) index.getValue()];
-                    return a2.withPrefix(a2.getPrefix().withWhitespace(annotation.getPrefix().getWhitespace()));
+                    a2 = a2.withPrefix(a2.getPrefix().withWhitespace(annotation.getPrefix().getWhitespace()));
+                    substituted.add(a2);
+                    return a2;
                 }
                 return super.visitAnnotation(annotation, integer);
             }
@@ -240,7 +258,9 @@ public class Substitutions {
                 Integer param = parameterIndex(j.getPrefix());
                 if (param != null) {
                     J j2 = (J) parameters[param];
-                    return j2.withPrefix(j2.getPrefix().withWhitespace(j.getPrefix().getWhitespace()));
+                    j2 = j2.withPrefix(j2.getPrefix().withWhitespace(j.getPrefix().getWhitespace()));
+                    substituted.add(j2);
+                    return j2;
                 }
                 return null;
             }
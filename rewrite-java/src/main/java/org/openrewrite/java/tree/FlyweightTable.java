@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.tree;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent table of flyweights, where each key maps to the handful of distinct variants that have been built for it.
+ * Variants are only weakly referenced, and a key is dropped once every one of its variants has been garbage collected.
+ * Each key is locked independently, so building types with different keys never contends.
+ *
+ * @param <K> The key type.
+ * @param <V> The flyweight type.
+ */
+final class FlyweightTable<K, V> {
+    private final ConcurrentHashMap<K, Variants<K, V>> variantsByKey = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+
+    /**
+     * @param key The key to look up.
+     * @return The most recently added variant for the key, if it is still reachable. Never takes a lock.
+     */
+    @Nullable
+    V any(K key) {
+        Variants<K, V> variants = variantsByKey.get(key);
+        if (variants == null) {
+            return null;
+        }
+        VariantReference<K, V> latest = variants.latest;
+        return latest == null ? null : latest.get();
+    }
+
+    /**
+     * @param key    The key to look up.
+     * @param select Given the reachable variants for the key, returns either one of them or a new variant,
+     *               which is then added to the table.
+     * @return The selected variant.
+     */
+    V intern(K key, Function<List<V>, V> select) {
+        expungeCollected();
+        while (true) {
+            Variants<K, V> variants = variantsByKey.computeIfAbsent(key, Variants::new);
+            //noinspection SynchronizationOnLocalVariableOrMethodParameter
+            synchronized (variants) {
+                if (variants.removed) {
+                    // raced with the removal of the last collected variant, so try again with a fresh entry
+                    continue;
+                }
+
+                List<V> reachable = variants.reachable();
+                V selected = select.apply(reachable);
+                for (V variant : reachable) {
+                    if (variant == selected) {
+                        return selected;
+                    }
+                }
+
+                VariantReference<K, V> reference = new VariantReference<>(variants.key, selected, collected);
+                variants.references.add(reference);
+                variants.latest = reference;
+                return selected;
+            }
+        }
+    }
+
+    int size() {
+        return variantsByKey.size();
+    }
+
+    void clear() {
+        variantsByKey.clear();
+    }
+
+    private void expungeCollected() {
+        Reference<? extends V> ref;
+        while ((ref = collected.poll()) != null) {
+            @SuppressWarnings("unchecked") VariantReference<K, V> reference = (VariantReference<K, V>) ref;
+            Variants<K, V> variants = variantsByKey.get(reference.key);
+            if (variants != null) {
+                //noinspection SynchronizationOnLocalVariableOrMethodParameter
+                synchronized (variants) {
+                    variants.references.remove(reference);
+                    if (variants.references.isEmpty()) {
+                        variants.removed = true;
+                        variantsByKey.remove(reference.key, variants);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Variants<K, V> {
+        /**
+         * The instance the table is keyed by, which keys that have become unequal to any other (like ones only weakly
+         * referring to something that has since been collected) can still be removed with.
+         */
+        private final K key;
+
+        /**
+         * Guarded by this.
+         */
+        private final List<VariantReference<K, V>> references = new ArrayList<>(1);
+
+        /**
+         * Guarded by this.
+         */
+        private boolean removed;
+
+        @Nullable
+        private volatile VariantReference<K, V> latest;
+
+        private Variants(K key) {
+            this.key = key;
+        }
+
+        private List<V> reachable() {
+            List<V> reachable = new ArrayList<>(references.size());
+            for (Iterator<VariantReference<K, V>> iterator = references.iterator(); iterator.hasNext(); ) {
+                V variant = iterator.next().get();
+                if (variant == null) {
+                    iterator.remove();
+                } else {
+                    reachable.add(variant);
+                }
+            }
+            return reachable;
+        }
+    }
+
+    private static class VariantReference<K, V> extends WeakReference<V> {
+        private final K key;
+
+        private VariantReference(K key, V referent, ReferenceQueue<? super V> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+}
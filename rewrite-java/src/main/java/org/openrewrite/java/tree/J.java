@@ -48,7 +48,6 @@ import static java.util.stream.Collectors.toList;
 @JsonIdentityInfo(generator = ObjectIdGenerators.IntSequenceGenerator.class, property = "@ref")
 public interface J extends Serializable, Tree {
     static void clearCaches() {
-        Identifier.flyweights.clear();
         JavaType.clearCaches();
     }
 
@@ -1092,9 +1091,14 @@ public interface J extends Serializable, Tree {
     @RequiredArgsConstructor
     @AllArgsConstructor(access = AccessLevel.PRIVATE)
     final class CompilationUnit implements J, SourceFile {
+        /**
+         * Held strongly, since recipes ask for the types in use of every compilation unit in every cycle. It is
+         * carried along to new versions of this compilation unit by withers, and reused if it is still valid. The
+         * cache only weakly refers to the trees it was built from, so carrying it does not keep older versions alive.
+         */
         @Nullable
         @NonFinal
-        transient WeakReference<TypeCache> typesInUse;
+        transient TypeCache typesInUse;
 
         @Nullable
         @NonFinal
@@ -1165,16 +1169,10 @@ public interface J extends Serializable, Tree {
         }
 
         private TypeCache typeCache() {
-            TypeCache cache;
-            if (this.typesInUse == null) {
+            TypeCache cache = this.typesInUse;
+            if (cache == null || !cache.isValidFor(this)) {
                 cache = TypeCache.build(this);
-                this.typesInUse = new WeakReference<>(cache);
-            } else {
-                cache = this.typesInUse.get();
-                if (cache == null || cache.getCu() != this) {
-                    cache = TypeCache.build(this);
-                    this.typesInUse = new WeakReference<>(cache);
-                }
+                this.typesInUse = cache;
             }
             return cache;
         }
@@ -1212,7 +1210,7 @@ public interface J extends Serializable, Tree {
             }
 
             public CompilationUnit withImports(List<JRightPadded<Import>> imports) {
-                return t.imports == imports ? t : new CompilationUnit(t.id, t.prefix, t.markers, t.sourcePath, t.packageDeclaration, imports, t.classes, t.eof);
+                return t.imports == imports ? t : new CompilationUnit(t.typesInUse, null, t.id, t.prefix, t.markers, t.sourcePath, t.packageDeclaration, imports, t.classes, t.eof);
             }
         }
     }
@@ -1958,9 +1956,6 @@ public interface J extends Serializable, Tree {
             }
         };
 
-        // keyed by name, type, and then field type
-        private static final Map<String, Map<JavaType, Map<JavaType, IdentifierFlyweight>>> flyweights = new WeakHashMap<>();
-
         @Getter
         @EqualsAndHashCode.Include
         UUID id;
@@ -2055,17 +2050,16 @@ public interface J extends Serializable, Tree {
                                        String simpleName,
                                        @Nullable JavaType type,
                                        @Nullable JavaType fieldType) {
-            synchronized (flyweights) {
-                return new Identifier(
-                        id,
-                        flyweights
-                                .computeIfAbsent(simpleName, n -> new HashMap<>())
-                                .computeIfAbsent(type, t -> new HashMap<>())
-                                .computeIfAbsent(fieldType, t -> new IdentifierFlyweight(simpleName, type, fieldType)),
-                        prefix,
-                        markers
-                );
-            }
+            // keyed by type and name, and then distinguished by field type
+            IdentifierFlyweight identifier = JavaTypeCache.current().identifiers.intern(new JavaTypeCache.Key(type, simpleName), identifiers -> {
+                for (IdentifierFlyweight flyweight : identifiers) {
+                    if (Objects.equals(flyweight.fieldType, fieldType)) {
+                        return flyweight;
+                    }
+                }
+                return new IdentifierFlyweight(simpleName, type, fieldType);
+            });
+            return new Identifier(id, identifier, prefix, markers);
         }
 
         @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
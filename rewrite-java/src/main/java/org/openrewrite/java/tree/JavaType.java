@@ -35,10 +35,7 @@ import static java.util.stream.Collectors.joining;
 @JsonTypeInfo(use = JsonTypeInfo.Id.MINIMAL_CLASS, property = "@c")
 public interface JavaType extends Serializable {
     static void clearCaches() {
-        Class.flyweights.clear();
-        Method.flyweights.clear();
-        Parameterized.flyweight.children.clear();
-        Variable.flyweights.clear();
+        JavaTypeCache.current().clear();
     }
 
     boolean deepEquals(@Nullable JavaType type);
@@ -206,9 +203,6 @@ public interface JavaType extends Serializable {
 
     @Getter
     class Class extends FullyQualified {
-        // there shouldn't be too many distinct types represented by the same fully qualified name
-        private static final Map<String, Set<Class>> flyweights = new WeakHashMap<>();
-
         public static final Class OBJECT = build("java.lang.Object");
 
         private final String fullyQualifiedName;
@@ -358,47 +352,38 @@ public interface JavaType extends Serializable {
                                   @Nullable FullyQualified owningClass,
                                   List<FullyQualified> annotations,
                                   boolean relaxedClassTypeMatching) {
-            Set<JavaType.Class> variants = flyweights.get(fullyQualifiedName);
-            if (relaxedClassTypeMatching && variants != null && !variants.isEmpty()) {
-                // no lock access to existing flyweight when relaxed class type matching is off
-                return variants.iterator().next();
+            // there shouldn't be too many distinct types represented by the same fully qualified name
+            FlyweightTable<String, Class> flyweights = JavaTypeCache.current().classes;
+            if (relaxedClassTypeMatching) {
+                // no lock access to existing flyweight when relaxed class type matching is on
+                Class variant = flyweights.any(fullyQualifiedName);
+                if (variant != null) {
+                    return variant;
+                }
             }
 
-            synchronized (flyweights) {
-                variants = flyweights.computeIfAbsent(fullyQualifiedName, fqn -> new HashSet<>());
+            return flyweights.intern(fullyQualifiedName, variants -> {
+                if (relaxedClassTypeMatching && !variants.isEmpty()) {
+                    return variants.get(0);
+                }
 
+                JavaType.Class candidate = buildCandidate(flagsBitMap, fullyQualifiedName,
+                        kind, members, interfaces, constructors, supertype, owningClass, annotations);
                 if (relaxedClassTypeMatching) {
-                    if (variants.isEmpty()) {
-                        JavaType.Class candidate = buildCandidate(flagsBitMap, fullyQualifiedName,
-                                kind, members, interfaces, constructors, supertype, owningClass, annotations);
-                        variants.add(candidate);
-                        return candidate;
-                    }
-                    return variants.iterator().next();
-                } else {
-                    JavaType.Class candidate = buildCandidate(flagsBitMap, fullyQualifiedName,
-                            kind, members, interfaces, constructors, supertype, owningClass, annotations);
+                    return candidate;
+                }
 
-                    for (Class v : variants) {
-                        if (v.deepEquals(candidate)) {
-                            return v;
-                        }
+                for (Class v : variants) {
+                    if (v.deepEquals(candidate)) {
+                        return v;
                     }
+                }
 
-                    if (candidate.supertype == null) {
-                        for (Class variant : variants) {
-                            if (variant.supertype != null) {
-                                return variant;
-                            } else {
-                                variants.add(candidate);
-                                return candidate;
-                            }
-                        }
-                    }
-                    variants.add(candidate);
-                    return candidate;
+                if (candidate.supertype == null && !variants.isEmpty() && variants.get(0).supertype != null) {
+                    return variants.get(0);
                 }
-            }
+                return candidate;
+            });
         }
 
         private static JavaType.Class buildCandidate(int flagsBitMap,
@@ -477,46 +462,13 @@ public interface JavaType extends Serializable {
     @Data
     @EqualsAndHashCode(callSuper = false)
     class Parameterized extends FullyQualified {
-        private static class TypeTrieNode {
-            private Map<JavaType, TypeTrieNode> children;
-            private Parameterized parameterized;
-
-            public Parameterized find(FullyQualified type, List<JavaType> typeParameters) {
-                TypeTrieNode node = find(type, typeParameters, -1);
-                return node.parameterized;
-            }
-
-            private TypeTrieNode find(FullyQualified type, List<JavaType> typeParameters, int index) {
-                if (children == null) {
-                    children = new IdentityHashMap<>(4);
-                }
-
-                TypeTrieNode node;
-                if (index == -1) {
-                    node = children.computeIfAbsent(type, t -> new TypeTrieNode());
-                } else {
-                    node = children.computeIfAbsent(typeParameters.get(index), t -> new TypeTrieNode());
-                }
-
-                if (index == typeParameters.size() - 1) {
-                    if (node.parameterized == null) {
-                        node.parameterized = new Parameterized(type, typeParameters);
-                    }
-                    return node;
-                } else {
-                    return node.find(type, typeParameters, index + 1);
-                }
-            }
-        }
-
-        private static final TypeTrieNode flyweight = new TypeTrieNode();
-
         private final FullyQualified type;
         private final List<JavaType> typeParameters;
 
         @JsonCreator
         public static Parameterized build(FullyQualified type, List<JavaType> typeParameters) {
-            return flyweight.find(type, typeParameters);
+            return JavaTypeCache.current().parameterized.intern(new JavaTypeCache.ParameterizedKey(type, typeParameters),
+                    variants -> variants.isEmpty() ? new Parameterized(type, typeParameters) : variants.get(0));
         }
 
         private Parameterized(FullyQualified type, List<JavaType> typeParameters) {
@@ -672,8 +624,6 @@ public interface JavaType extends Serializable {
     @ToString
     @EqualsAndHashCode
     class Variable implements JavaType {
-        private static final Map<String, Map<JavaType, Set<Variable>>> flyweights = new WeakHashMap<>();
-
         private final String name;
 
         @Nullable
@@ -692,20 +642,14 @@ public interface JavaType extends Serializable {
         public static Variable build(String name, @Nullable JavaType type, int flagsBitMap) {
             Variable test = new Variable(name, type, flagsBitMap);
 
-            synchronized (flyweights) {
-                Set<Variable> variables = flyweights
-                        .computeIfAbsent(name, n -> new WeakHashMap<>())
-                        .computeIfAbsent(type, fq -> Collections.newSetFromMap(new WeakHashMap<>()));
-
+            return JavaTypeCache.current().variables.intern(new JavaTypeCache.Key(type, name), variables -> {
                 for (Variable variable : variables) {
                     if (variable.deepEquals(test)) {
                         return variable;
                     }
                 }
-
-                variables.add(test);
                 return test;
-            }
+            });
         }
 
         public boolean hasFlags(Flag... test) {
@@ -731,8 +675,6 @@ public interface JavaType extends Serializable {
 
     @Getter
     class Method implements JavaType {
-        private static final Map<FullyQualified, Map<String, Set<Method>>> flyweights = new WeakHashMap<>();
-
         @Getter(AccessLevel.NONE)
         private final int flagsBitMap;
 
@@ -774,20 +716,14 @@ public interface JavaType extends Serializable {
 
             Method test = new Method(flagsBitMap, declaringType, name, genericSignature, resolvedSignature, paramNames, thrownExceptions);
 
-            synchronized (flyweights) {
-                Set<Method> methods = flyweights
-                        .computeIfAbsent(declaringType, dt -> new WeakHashMap<>())
-                        .computeIfAbsent(name, n -> Collections.newSetFromMap(new WeakHashMap<>()));
-
+            return JavaTypeCache.current().methods.intern(new JavaTypeCache.Key(declaringType, name), methods -> {
                 for (Method method : methods) {
                     if (method.deepEquals(test)) {
                         return method;
                     }
                 }
-
-                methods.add(test);
                 return test;
-            }
+            });
         }
 
         @Data
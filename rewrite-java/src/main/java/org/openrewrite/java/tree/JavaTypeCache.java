@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.tree;
+
+import org.openrewrite.Incubating;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds the flyweights that {@link JavaType.Class}, {@link JavaType.Method}, {@link JavaType.Variable} and
+ * {@link JavaType.Parameterized} types, as well as the name and type of each {@link J.Identifier}, are deduplicated
+ * against when they are built.
+ * <p>
+ * Unless a cache is {@link #run(Supplier) in scope} on the current thread, types are built against the
+ * {@link #global() global} cache. A parse session can instead use a cache of its own, so that its types can be
+ * {@link #clear() cleared} without affecting types built elsewhere.
+ */
+@Incubating(since = "7.12.0")
+public class JavaTypeCache {
+    // before GLOBAL, which takes an id when it is created
+    private static final AtomicLong ids = new AtomicLong();
+    private static final JavaTypeCache GLOBAL = new JavaTypeCache();
+    private static final ThreadLocal<JavaTypeCache> scoped = new ThreadLocal<>();
+
+    private final long id = ids.incrementAndGet();
+
+    final FlyweightTable<String, JavaType.Class> classes = new FlyweightTable<>();
+    final FlyweightTable<Key, JavaType.Method> methods = new FlyweightTable<>();
+    final FlyweightTable<Key, JavaType.Variable> variables = new FlyweightTable<>();
+    final FlyweightTable<ParameterizedKey, JavaType.Parameterized> parameterized = new FlyweightTable<>();
+    final FlyweightTable<Key, J.Identifier.IdentifierFlyweight> identifiers = new FlyweightTable<>();
+
+    /**
+     * @return Distinguishes this cache from every other cache created in this process.
+     */
+    public long getId() {
+        return id;
+    }
+
+    public static JavaTypeCache global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @return The cache in scope on the current thread, or the global cache if there is none.
+     */
+    public static JavaTypeCache current() {
+        JavaTypeCache cache = scoped.get();
+        return cache == null ? GLOBAL : cache;
+    }
+
+    /**
+     * Builds types against this cache for the duration of {@code fn} on the current thread.
+     *
+     * @param fn  Some work that builds types.
+     * @param <T> The result type.
+     * @return The result of the work.
+     */
+    public <T> T run(Supplier<T> fn) {
+        JavaTypeCache previous = scoped.get();
+        scoped.set(this);
+        try {
+            return fn.get();
+        } finally {
+            if (previous == null) {
+                scoped.remove();
+            } else {
+                scoped.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return The number of distinct keys (e.g. fully qualified names) with at least one type still reachable.
+     */
+    public int size() {
+        return classes.size() + methods.size() + variables.size() + parameterized.size() + identifiers.size();
+    }
+
+    /**
+     * Forget every type built so far, so that subsequently built types are not deduplicated against them.
+     */
+    public void clear() {
+        classes.clear();
+        methods.clear();
+        variables.clear();
+        parameterized.clear();
+        identifiers.clear();
+    }
+
+    /**
+     * Only weakly refers to its owner, which every variant interned under the key refers to strongly, so that the key
+     * does not keep its own variants reachable.
+     */
+    static final class Key {
+        @Nullable
+        private final WeakReference<Object> owner;
+
+        @Nullable
+        private final String name;
+
+        private final int hash;
+
+        Key(@Nullable Object owner, @Nullable String name) {
+            this.owner = owner == null ? null : new WeakReference<>(owner);
+            this.name = name;
+            this.hash = 31 * Objects.hashCode(name) + Objects.hashCode(owner);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            if (hash != key.hash || !Objects.equals(name, key.name)) {
+                return false;
+            }
+            if (owner == null || key.owner == null) {
+                return owner == key.owner;
+            }
+            Object referent = owner.get();
+            return referent != null && referent.equals(key.owner.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Parameterized types are deduplicated by the identity of their type and type parameters, which are flyweights
+     * themselves. Like {@link Key}, only weakly refers to them.
+     */
+    static final class ParameterizedKey {
+        private final WeakReference<JavaType.FullyQualified> type;
+        private final List<WeakReference<JavaType>> typeParameters;
+        private final int hash;
+
+        ParameterizedKey(JavaType.FullyQualified type, List<JavaType> typeParameters) {
+            this.type = new WeakReference<>(type);
+            this.typeParameters = new ArrayList<>(typeParameters.size());
+            int hash = System.identityHashCode(type);
+            for (JavaType typeParameter : typeParameters) {
+                this.typeParameters.add(new WeakReference<>(typeParameter));
+                hash = 31 * hash + System.identityHashCode(typeParameter);
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ParameterizedKey key = (ParameterizedKey) o;
+            if (hash != key.hash || !sameReferent(type, key.type) ||
+                    typeParameters.size() != key.typeParameters.size()) {
+                return false;
+            }
+            for (int i = 0; i < typeParameters.size(); i++) {
+                if (!sameReferent(typeParameters.get(i), key.typeParameters.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private static boolean sameReferent(WeakReference<?> r1, WeakReference<?> r2) {
+            Object referent = r1.get();
+            return referent != null && referent == r2.get();
+        }
+    }
+}
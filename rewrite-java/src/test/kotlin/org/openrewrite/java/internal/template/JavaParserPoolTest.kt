@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal.template
+
+import io.micrometer.core.instrument.Metrics
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.openrewrite.ExecutionContext
+import org.openrewrite.Parser
+import org.openrewrite.java.JavaParser
+import org.openrewrite.java.tree.J
+import java.nio.file.Path
+import java.util.*
+import java.util.concurrent.atomic.AtomicInteger
+
+class JavaParserPoolTest {
+
+    class StubParser : JavaParser {
+        override fun parseInputs(sources: Iterable<Parser.Input>, relativeTo: Path?, ctx: ExecutionContext) =
+            emptyList<J.CompilationUnit>()
+
+        override fun reset() = this
+
+        override fun setClasspath(classpath: Collection<Path>) {
+        }
+    }
+
+    private fun pool(built: AtomicInteger) = JavaParserPool.shared(UUID.randomUUID().toString()) {
+        built.incrementAndGet()
+        StubParser()
+    }
+
+    @Test
+    fun borrowReusesReleasedParser() {
+        val built = AtomicInteger()
+        val pool = pool(built)
+
+        val parser = pool.borrow()
+        pool.release(parser)
+
+        assertThat(pool.borrow()).isSameAs(parser)
+        assertThat(built.get()).isEqualTo(1)
+    }
+
+    @Test
+    fun parserReleasedAfterFailedParseIsDiscarded() {
+        val built = AtomicInteger()
+        val pool = pool(built)
+
+        val parser = pool.borrow()
+        pool.release(parser, false)
+
+        assertThat(pool.borrow()).isNotSameAs(parser)
+        assertThat(built.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun unpooledParserIsNeverReused() {
+        val built = AtomicInteger()
+        val pool = JavaParserPool.unpooled {
+            built.incrementAndGet()
+            StubParser()
+        }
+
+        val parser = pool.borrow()
+        pool.release(parser)
+
+        assertThat(pool.borrow()).isNotSameAs(parser)
+        assertThat(built.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun gaugesCountIdleAndBorrowedParsers() {
+        val meters = SimpleMeterRegistry()
+        Metrics.globalRegistry.add(meters)
+        try {
+            fun parsers(state: String) =
+                meters.get("rewrite.java.template.parsers").tag("state", state).gauge().value()
+
+            val pool = pool(AtomicInteger())
+            val idle = parsers("idle")
+            val borrowed = parsers("borrowed")
+
+            val parser = pool.borrow()
+            assertThat(parsers("borrowed")).isEqualTo(borrowed + 1)
+            assertThat(parsers("idle")).isEqualTo(idle)
+
+            pool.release(parser)
+            assertThat(parsers("borrowed")).isEqualTo(borrowed)
+            assertThat(parsers("idle")).isEqualTo(idle + 1)
+
+            pool.borrow()
+            assertThat(parsers("borrowed")).isEqualTo(borrowed + 1)
+            assertThat(parsers("idle")).isEqualTo(idle)
+        } finally {
+            Metrics.globalRegistry.remove(meters)
+        }
+    }
+}
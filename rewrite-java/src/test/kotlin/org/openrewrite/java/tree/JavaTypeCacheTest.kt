@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.tree
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.openrewrite.Tree.randomId
+import org.openrewrite.marker.Markers
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class JavaTypeCacheTest {
+
+    @Test
+    fun typesAreDeduplicatedWithinACache() {
+        val cache = JavaTypeCache()
+        val first = cache.run { JavaType.Class.build("org.openrewrite.Test") }
+        val second = cache.run { JavaType.Class.build("org.openrewrite.Test") }
+        assertThat(first).isSameAs(second)
+        assertThat(cache.size()).isGreaterThan(0)
+    }
+
+    @Test
+    fun clearingACacheDoesNotAffectOtherCaches() {
+        val session = JavaTypeCache()
+        session.run { JavaType.Class.build("org.openrewrite.Test") }
+        val global = JavaType.Class.build("org.openrewrite.Test")
+
+        session.clear()
+
+        assertThat(session.size()).isEqualTo(0)
+        assertThat(JavaType.Class.build("org.openrewrite.Test")).isSameAs(global)
+    }
+
+    @Test
+    fun identifiersAreBuiltAgainstTheCacheInScope() {
+        val session = JavaTypeCache()
+        val type = session.run { JavaType.Class.build("org.openrewrite.Test") }
+        val types = session.size()
+
+        val identifier = session.run { J.Identifier.build(randomId(), Space.EMPTY, Markers.EMPTY, "test", type) }
+
+        assertThat(identifier.type).isSameAs(type)
+        assertThat(session.size()).isEqualTo(types + 1)
+        session.clear()
+        assertThat(session.size()).isEqualTo(0)
+    }
+
+    @Test
+    fun concurrentBuildsAgreeOnOneFlyweight() {
+        val cache = JavaTypeCache()
+        val executor = Executors.newFixedThreadPool(4)
+        try {
+            val types = executor.invokeAll((1..16).map {
+                Callable { cache.run { JavaType.Class.build("org.openrewrite.Concurrent") } }
+            }).map { it.get() }
+            assertThat(types).allMatch { it === types[0] }
+        } finally {
+            executor.shutdown()
+        }
+    }
+}
@@ -35,6 +35,8 @@ dependencies {
 
     implementation("com.squareup.okhttp3:okhttp:latest.release")
 
+    implementation("com.github.ben-manes.caffeine:caffeine:2.+")
+
     implementation("org.apache.commons:commons-text:latest.release")
 
     integTestImplementation("org.eclipse.aether:aether-api:latest.release")
@@ -57,6 +59,7 @@ dependencies {
     testImplementation("ch.qos.logback:logback-classic:1.0.13")
     testImplementation("com.squareup.okhttp3:mockwebserver:latest.release")
     testImplementation("org.mapdb:mapdb:latest.release")
+    testImplementation("org.rocksdb:rocksdbjni:latest.release")
 
     testRuntimeOnly("org.mapdb:mapdb:latest.release")
     testRuntimeOnly(project(":rewrite-java-11"))
@@ -39,9 +39,11 @@ import org.openrewrite.xml.tree.Xml;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import static java.util.Collections.*;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Adds a dependency if there is no dependency matching <code>groupId</code> and <code>artifactId</code>.
@@ -148,7 +150,7 @@ public class AddDependencyVisitor extends MavenVisitor {
                 if (model.getManagedVersion(groupId, artifactId) == null) {
                     if (familyPattern != null) {
                         versionToUse = findDependencies(d -> familyPattern.matcher(d.getGroupId()).matches()).stream()
-                                .max(Comparator.comparing(d -> new Version(d.getVersion())))
+                                .max(Comparator.comparing(d -> Version.valueOf(d.getVersion())))
                                 .map(Pom.Dependency::getRequestedVersion)
                                 .orElse(null);
                     }
@@ -192,12 +194,12 @@ public class AddDependencyVisitor extends MavenVisitor {
             MavenMetadata mavenMetadata = new MavenPomDownloader(MavenPomCache.NOOP,
                     emptyMap(), ctx).downloadMetadata(groupId, artifactId, emptyList());
 
-            LatestRelease latest = new LatestRelease(metadataPattern);
-            resolvedVersion = mavenMetadata.getVersioning().getVersions().stream()
-                    .filter(versionComparator::isValid)
-                    .filter(v -> !releasesOnly || latest.isValid(v))
-                    .max(versionComparator)
-                    .orElse(version);
+            List<String> versions = mavenMetadata.getVersioning().getVersions();
+            if (releasesOnly) {
+                LatestRelease latest = new LatestRelease(metadataPattern);
+                versions = versions.stream().filter(latest::isValid).collect(toList());
+            }
+            resolvedVersion = versionComparator.select(versions).orElse(version);
         }
         return resolvedVersion;
     }
@@ -301,12 +301,12 @@ public class AddProvenanceScopedDependency extends Recipe {
                     MavenMetadata mavenMetadata = new MavenPomDownloader(MavenPomCache.NOOP,
                             emptyMap(), ctx).downloadMetadata(groupId, artifactId, emptyList());
 
-                    LatestRelease latest = new LatestRelease(versionPattern);
-                    resolvedVersion = mavenMetadata.getVersioning().getVersions().stream()
-                            .filter(versionComparator::isValid)
-                            .filter(v -> !releasesOnly || latest.isValid(v))
-                            .max(versionComparator)
-                            .orElse(version);
+                    List<String> versions = mavenMetadata.getVersioning().getVersions();
+                    if (releasesOnly) {
+                        LatestRelease latest = new LatestRelease(versionPattern);
+                        versions = versions.stream().filter(latest::isValid).collect(Collectors.toList());
+                    }
+                    resolvedVersion = versionComparator.select(versions).orElse(version);
                 }
             }
             return resolvedVersion;
@@ -322,7 +322,7 @@ public class AddProvenanceScopedDependency extends Recipe {
                     if (model.getManagedVersion(groupId, artifactId) == null) {
                         if (familyRegex != null) {
                             versionToUse = findDependencies(d -> familyRegex.matcher(d.getGroupId()).matches()).stream()
-                                    .max(Comparator.comparing(d -> new Version(d.getVersion())))
+                                    .max(Comparator.comparing(d -> Version.valueOf(d.getVersion())))
                                     .map(Pom.Dependency::getRequestedVersion)
                                     .orElse(null);
                         }
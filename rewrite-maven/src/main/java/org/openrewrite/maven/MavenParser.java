@@ -35,14 +35,19 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.StreamSupport.stream;
 import static org.openrewrite.Tree.randomId;
+import static org.openrewrite.internal.ConcurrencyUtils.join;
+import static org.openrewrite.internal.ConcurrencyUtils.newDaemonThreadPool;
 
 public class MavenParser implements Parser<Maven> {
     private final MavenPomCache mavenPomCache;
@@ -67,47 +72,66 @@ public class MavenParser implements Parser<Maven> {
         return parse(new InMemoryExecutionContext(), sources);
     }
 
+    /**
+     * Project poms are parsed and resolved in parallel. Resolving a project pom mostly waits on downloads, which
+     * are made on the downloader's own threads, so this pool only bounds how many poms are resolved at once.
+     */
+    private static final ExecutorService parseExecutor = newDaemonThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), "rewrite-maven-parser");
+
     @Override
     public List<Maven> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo,
                                    ExecutionContext ctx) {
-        Collection<RawMaven> projectPoms = stream(sources.spliterator(), false)
-                .map(source -> RawMaven.parse(source, relativeTo, null, ctx))
+        List<CompletableFuture<RawMaven>> rawParses = stream(sources.spliterator(), false)
+                .map(source -> supplyAsync(() -> RawMaven.parse(source, relativeTo, null, ctx), parseExecutor))
                 .collect(toList());
+        List<RawMaven> projectPoms = new ArrayList<>(rawParses.size());
+        for (CompletableFuture<RawMaven> rawParse : rawParses) {
+            projectPoms.add(join(rawParse));
+        }
 
+        // shared, so that a pom needed by more than one project pom is downloaded once
         MavenPomDownloader downloader = new MavenPomDownloader(mavenPomCache,
                 projectPoms.stream().collect(toMap(RawMaven::getSourcePath, Function.identity())), ctx);
 
-        List<Maven> parsed = new ArrayList<>();
-        Map<String, String> effectiveProperties = new HashMap<>();
+        Map<String, String> baseProperties = new HashMap<>();
         if (relativeTo != null) {
-            effectiveProperties.put("project.basedir", relativeTo.toString());
-            effectiveProperties.put("basedir", relativeTo.toString());
+            baseProperties.put("project.basedir", relativeTo.toString());
+            baseProperties.put("basedir", relativeTo.toString());
         }
 
+        List<CompletableFuture<Xml.Document>> resolutions = new ArrayList<>(projectPoms.size());
         for (RawMaven raw : projectPoms) {
-            raw = raw.withProjectPom(true);
-            Xml.Document resolve = new RawMavenResolver(downloader, activeProfiles, resolveOptional, ctx, relativeTo)
-                    .resolve(raw, effectiveProperties);
+            // each project pom collects the effective properties of its own parents and dependencies. sharing one
+            // map between project poms made a property of whichever pom was resolved first take precedence over the
+            // same property of every other project pom, which depends on resolution order once poms resolve in parallel
+            Map<String, String> effectiveProperties = new HashMap<>(baseProperties);
+            RawMaven projectPom = raw.withProjectPom(true);
+            resolutions.add(supplyAsync(() -> new RawMavenResolver(downloader, activeProfiles, resolveOptional, ctx, relativeTo)
+                    .resolve(projectPom, effectiveProperties), parseExecutor));
+        }
+
+        List<Maven> parsed = new ArrayList<>();
+        for (CompletableFuture<Xml.Document> resolution : resolutions) {
+            Xml.Document resolve = join(resolution);
             if (resolve != null) {
                 Maven maven1 = new Maven(resolve);
                 parsed.add(maven1);
             }
         }
 
-        for (int i = 0; i < parsed.size(); i++) {
-            Maven maven = parsed.get(i);
-            List<Pom> modules = new ArrayList<>(0);
-            for (Maven possibleModule : parsed) {
-                Pom parent = possibleModule.getModel().getParent();
-                if (parent != null &&
-                        parent.getGroupId().equals(maven.getModel().getGroupId()) &&
-                        parent.getArtifactId().equals(maven.getModel().getArtifactId()) &&
-                        parent.getVersion().equals(maven.getModel().getVersion())) {
-                    modules.add(possibleModule.getModel());
-                }
+        Map<String, List<Pom>> modulesByParent = new HashMap<>();
+        for (Maven possibleModule : parsed) {
+            Pom parent = possibleModule.getModel().getParent();
+            if (parent != null) {
+                modulesByParent.computeIfAbsent(gav(parent), gav -> new ArrayList<>()).add(possibleModule.getModel());
             }
+        }
 
-            if (!modules.isEmpty()) {
+        for (int i = 0; i < parsed.size(); i++) {
+            Maven maven = parsed.get(i);
+            List<Pom> modules = modulesByParent.get(gav(maven.getModel()));
+            if (modules != null) {
                 parsed.set(i, maven.withMarkers(maven.getMarkers().compute(new Modules(randomId(), modules), (old, n) -> n)));
             }
         }
@@ -115,6 +139,10 @@ public class MavenParser implements Parser<Maven> {
         return parsed;
     }
 
+    private static String gav(Pom pom) {
+        return pom.getGroupId() + ':' + pom.getArtifactId() + ':' + pom.getVersion();
+    }
+
     @Override
     public boolean accept(Path path) {
         return path.toString().equals("pom.xml") || path.toString().endsWith(".pom");
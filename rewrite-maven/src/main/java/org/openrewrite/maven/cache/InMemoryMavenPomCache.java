@@ -15,10 +15,16 @@
  */
 package org.openrewrite.maven.cache;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tags;
-import org.openrewrite.maven.internal.MavenPomDownloader;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.openrewrite.internal.ConcurrencyUtils.Computed;
 import org.openrewrite.maven.internal.MavenMetadata;
+import org.openrewrite.maven.internal.MavenPomDownloader;
 import org.openrewrite.maven.internal.RawMaven;
 import org.openrewrite.maven.tree.GroupArtifact;
 import org.openrewrite.maven.tree.MavenRepository;
@@ -30,10 +36,18 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.Callable;
 
+import static org.openrewrite.internal.ConcurrencyUtils.computeOnce;
+
+/**
+ * A bounded cache that is safe to share between parsers on different threads. Each key is computed at most once
+ * at a time: concurrent lookups of a key that is being computed wait for it rather than compute it again, and no
+ * lock is held while computing. The least valuable entries (by W-TinyLFU) are evicted once a cache holds its
+ * maximum number of entries.
+ */
 public class InMemoryMavenPomCache implements MavenPomCache {
-    private final Map<String, Optional<RawMaven>> pomCache = new HashMap<>();
-    private final Map<GroupArtifactRepository, Optional<MavenMetadata>> mavenMetadataCache = new HashMap<>();
-    private final Map<MavenRepository, Optional<MavenRepository>> normalizedRepositoryUrls = new HashMap<>();
+    private final AsyncCache<String, Optional<RawMaven>> pomCache;
+    private final AsyncCache<GroupArtifactRepository, Optional<MavenMetadata>> mavenMetadataCache;
+    private final AsyncCache<MavenRepository, Optional<MavenRepository>> normalizedRepositoryUrls;
     private final Set<String> unresolvablePoms = new HashSet<>();
 
     private final CacheResult<RawMaven> UNAVAILABLE_POM = new CacheResult<>(CacheResult.State.Unavailable, null);
@@ -41,12 +55,38 @@ public class InMemoryMavenPomCache implements MavenPomCache {
     private final CacheResult<MavenRepository> UNAVAILABLE_REPOSITORY = new CacheResult<>(CacheResult.State.Unavailable, null);
 
     public InMemoryMavenPomCache() {
-        Metrics.gaugeMapSize("rewrite.maven.cache.size", Tags.of("type", "inmem", "content", "poms"), pomCache);
-        Metrics.gaugeMapSize("rewrite.maven.cache.size", Tags.of("type", "inmem", "content", "metadata"), mavenMetadataCache);
-        Metrics.gaugeMapSize("rewrite.maven.cache.size", Tags.of("type", "inmem", "content", "repository urls"), normalizedRepositoryUrls);
+        this(10_000, 10_000, 1_000);
+    }
+
+    /**
+     * @param maxPoms         The maximum number of POMs to hold.
+     * @param maxMetadata     The maximum number of artifacts to hold Maven metadata for.
+     * @param maxRepositories The maximum number of normalized repositories to hold.
+     */
+    public InMemoryMavenPomCache(long maxPoms, long maxMetadata, long maxRepositories) {
+        this.pomCache = cache("poms", maxPoms);
+        this.mavenMetadataCache = cache("metadata", maxMetadata);
+        this.normalizedRepositoryUrls = cache("repository urls", maxRepositories);
         fillUnresolvablePoms();
     }
 
+    private static <K, V> AsyncCache<K, V> cache(String content, long maximumSize) {
+        AsyncCache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+
+        Tags tags = Tags.of("type", "inmem", "content", content);
+        Gauge.builder("rewrite.maven.cache.size", cache.synchronous(), Cache::estimatedSize)
+                .tags(tags)
+                .register(Metrics.globalRegistry);
+        // hits, misses and evictions
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache.synchronous(),
+                "rewrite.maven." + content.replace(' ', '.'), tags);
+
+        return cache;
+    }
+
     private void fillUnresolvablePoms() {
         new BufferedReader(new InputStreamReader(MavenPomDownloader.class.getResourceAsStream("/unresolvable.txt"), StandardCharsets.UTF_8))
                 .lines()
@@ -57,23 +97,7 @@ public class InMemoryMavenPomCache implements MavenPomCache {
     @Override
     public CacheResult<MavenMetadata> computeMavenMetadata(URI repo, String groupId, String artifactId, Callable<MavenMetadata> orElseGet) throws Exception {
         GroupArtifactRepository gar = new GroupArtifactRepository(repo, new GroupArtifact(groupId, artifactId));
-        Optional<MavenMetadata> rawMavenMetadata = mavenMetadataCache.get(gar);
-
-        //noinspection OptionalAssignedToNull
-        if (rawMavenMetadata == null) {
-            try {
-                MavenMetadata metadata = orElseGet.call();
-                mavenMetadataCache.put(gar, Optional.ofNullable(metadata));
-                return new CacheResult<>(CacheResult.State.Updated, metadata);
-            } catch (Exception e) {
-                mavenMetadataCache.put(gar, Optional.empty());
-                throw e;
-            }
-        }
-
-        return rawMavenMetadata
-                .map(metadata -> new CacheResult<>(CacheResult.State.Cached, metadata))
-                .orElse(UNAVAILABLE_METADATA);
+        return compute(mavenMetadataCache, gar, orElseGet, UNAVAILABLE_METADATA);
     }
 
     @Override
@@ -87,44 +111,28 @@ public class InMemoryMavenPomCache implements MavenPomCache {
         }
 
         String cacheKey = repo.toString() + ":" + artifactCoordinates;
-        Optional<RawMaven> rawMaven = pomCache.get(cacheKey);
-
-        //noinspection OptionalAssignedToNull
-        if (rawMaven == null) {
-            try {
-                RawMaven maven = orElseGet.call();
-                pomCache.put(cacheKey, Optional.ofNullable(maven));
-                return new CacheResult<>(CacheResult.State.Updated, maven);
-            } catch (Exception e) {
-                pomCache.put(cacheKey, Optional.empty());
-                throw e;
-            }
-        }
-
-        return rawMaven
-                .map(pom -> new CacheResult<>(CacheResult.State.Cached, pom))
-                .orElse(UNAVAILABLE_POM);
+        return compute(pomCache, cacheKey, orElseGet, UNAVAILABLE_POM);
     }
 
     @Override
     public CacheResult<MavenRepository> computeRepository(MavenRepository repository,
                                                           Callable<MavenRepository> orElseGet) throws Exception {
-        Optional<MavenRepository> normalizedRepository = normalizedRepositoryUrls.get(repository);
-
-        //noinspection OptionalAssignedToNull
-        if (normalizedRepository == null) {
-            try {
-                MavenRepository repo = orElseGet.call();
-                normalizedRepositoryUrls.put(repository, Optional.ofNullable(repo));
-                return new CacheResult<>(CacheResult.State.Updated, repo);
-            } catch (Exception e) {
-                normalizedRepositoryUrls.put(repository, Optional.empty());
-                throw e;
-            }
-        }
+        return compute(normalizedRepositoryUrls, repository, orElseGet, UNAVAILABLE_REPOSITORY);
+    }
 
-        return normalizedRepository
-                .map(pom -> new CacheResult<>(CacheResult.State.Cached, pom))
-                .orElse(UNAVAILABLE_REPOSITORY);
+    /**
+     * A failure is cached as unavailable, like a missing value, but is only thrown to the caller that computed it.
+     */
+    private static <K, V> CacheResult<V> compute(AsyncCache<K, Optional<V>> cache, K key, Callable<V> orElseGet,
+                                                 CacheResult<V> unavailable) throws Exception {
+        Computed<Optional<V>> value = computeOnce(future -> cache.get(key, (k, executor) -> future.get()),
+                () -> Optional.ofNullable(orElseGet.call()), Optional.empty());
+
+        if (value.isComputed()) {
+            return new CacheResult<>(CacheResult.State.Updated, value.getValue().orElse(null));
+        }
+        return value.getValue()
+                .map(v -> new CacheResult<>(CacheResult.State.Cached, v))
+                .orElse(unavailable);
     }
 }
@@ -23,14 +23,26 @@ import org.openrewrite.maven.internal.MavenDownloadingException;
 import org.openrewrite.maven.tree.Pom;
 
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 @EqualsAndHashCode
 @ToString
 public class LocalMavenArtifactCache implements MavenArtifactCache {
+    private static final long TRANSFER_SIZE = 1024 * 1024;
+
+    /**
+     * Monitors for the lock files that writers in this process are waiting on, each removed once no writer is left
+     * waiting on it.
+     */
+    private static final Map<Path, WriteLock> writeLocks = new ConcurrentHashMap<>();
+
     private final Path cache;
 
     public LocalMavenArtifactCache(Path cache) {
@@ -47,18 +59,35 @@ public class LocalMavenArtifactCache implements MavenArtifactCache {
         return path.toFile().exists() ? path : null;
     }
 
+    /**
+     * The artifact is written to a temporary file that is atomically moved into place once complete, so an
+     * interrupted write never leaves a corrupt artifact behind. Writers of the same artifact, in this or another
+     * process, take turns through a lock file, and a writer that finds the artifact already written by another
+     * doesn't write it again.
+     * <p>
+     * Each writer deletes the lock file once it is done with it. A writer in another process that was already waiting
+     * on the deleted file may then write at the same time as one that creates a new lock file, which only costs a
+     * redundant write, since the move into place is atomic. A lock file left behind by a process that was killed
+     * while writing is harmless, and is deleted by the next writer of the same artifact.
+     */
     @Override
     @Nullable
     public Path putArtifact(Pom.Dependency dependency, InputStream artifactInputStream, Consumer<Throwable> onError) {
         Path path = dependencyPath(dependency);
-        try (InputStream is = artifactInputStream;
-             OutputStream out = Files.newOutputStream(path)) {
-            if (is != null) {
-                byte[] buffer = new byte[1024];
-                int read;
-                while ((read = is.read(buffer, 0, 1024)) >= 0) {
-                    out.write(buffer, 0, read);
+        Path lockPath = path.resolveSibling(path.getFileName() + ".lock");
+        try (InputStream is = artifactInputStream) {
+            // file locks are held by the whole process, so threads of this process take turns on a monitor first
+            WriteLock writeLock = writeLocks.compute(lockPath, (p, l) -> {
+                WriteLock w = l == null ? new WriteLock() : l;
+                w.writers++;
+                return w;
+            });
+            try {
+                synchronized (writeLock) {
+                    write(path, lockPath, is);
                 }
+            } finally {
+                writeLocks.computeIfPresent(lockPath, (p, w) -> --w.writers == 0 ? null : w);
             }
         } catch (Throwable t) {
             onError.accept(t);
@@ -68,6 +97,43 @@ public class LocalMavenArtifactCache implements MavenArtifactCache {
         return path;
     }
 
+    private static void write(Path path, Path lockPath, InputStream is) throws IOException {
+        try (FileChannel lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
+            if (Files.exists(path)) {
+                return;
+            }
+
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                try (ReadableByteChannel source = Channels.newChannel(is);
+                     FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    long position = 0;
+                    long transferred;
+                    while ((transferred = target.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+                        position += transferred;
+                    }
+                }
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(lockPath);
+            } catch (IOException ignored) {
+                // still open by a writer in another process on platforms that don't allow deleting open files
+            }
+        }
+    }
+
+    private static class WriteLock {
+        /**
+         * Only read and written while computing the entry of {@link #writeLocks} this lock is the value of.
+         */
+        int writers;
+    }
+
     private Path dependencyPath(Pom.Dependency dependency) {
         Path resolvedPath = cache.resolve(Paths.get(dependency.getGroupId().replace('.', '/'),
                 dependency.getArtifactId(),
@@ -30,8 +30,13 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.internal.MavenMetadata;
 import org.openrewrite.maven.internal.MavenPomDownloader;
 import org.openrewrite.maven.internal.RawMaven;
-import org.openrewrite.maven.tree.GroupArtifact;
+import org.openrewrite.maven.internal.RawPom;
 import org.openrewrite.maven.tree.MavenRepository;
+import org.openrewrite.xml.tree.Xml;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.CompressionType;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -41,7 +46,9 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
@@ -62,8 +69,16 @@ import java.util.concurrent.Callable;
  *      "lost" data.</li>
  * <li> Rocksdb computes checksums for all of its files, normally it checks those on startup, this has been disabled as
  *      well.</li>
+ * <li> Keys are plain UTF-8 strings laid out as {@code pom:<repository>|<groupId>:<artifactId>:<version>} and
+ *      {@code metadata:<repository>|<groupId>:<artifactId>}, rather than serialized key objects.</li>
+ * <li> A pom's XML document is stored apart from the model that resolution reads and is only deserialized the first
+ *      time {@link RawMaven#getDocument()} is called, which resolution of a downloaded pom never does.</li>
+ * <li> The block cache size and compression are configurable, and take effect when a workspace's database is first
+ *      opened by the process.</li>
  */
 public class RocksdbMavenPomCache implements MavenPomCache {
+    public static final long DEFAULT_BLOCK_CACHE_SIZE = 32 * 1024 * 1024;
+    public static final CompressionType DEFAULT_COMPRESSION = CompressionType.LZ4_COMPRESSION;
 
     static ObjectMapper mapper;
 
@@ -94,10 +109,14 @@ public class RocksdbMavenPomCache implements MavenPomCache {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> cacheMap.values().forEach(RocksCache::close)));
     }
 
-    static synchronized RocksCache getCache(String pomCacheDir) {
-        return cacheMap.computeIfAbsent(pomCacheDir, RocksCache::new);
+    static synchronized RocksCache getCache(String pomCacheDir, long blockCacheSize, CompressionType compression) {
+        return cacheMap.computeIfAbsent(pomCacheDir, dir -> new RocksCache(dir, blockCacheSize, compression));
     }
 
+    private static final byte[] FORMAT_KEY = key("format");
+    private static final byte[] FORMAT = key("2");
+    private static final byte[] REPOSITORY_KEY_PREFIX = key("repository:");
+
     private final RocksCache cache;
     private final Set<String> unresolvablePoms = new HashSet<>();
 
@@ -106,6 +125,15 @@ public class RocksdbMavenPomCache implements MavenPomCache {
     CacheResult<MavenRepository> UNAVAILABLE_REPOSITORY = new CacheResult<>(CacheResult.State.Unavailable, null);
 
     public RocksdbMavenPomCache(@Nullable Path workspace) {
+        this(workspace, DEFAULT_BLOCK_CACHE_SIZE, DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param workspace      The directory to create the database in.
+     * @param blockCacheSize The size in bytes of the in-memory cache of uncompressed blocks read from disk.
+     * @param compression    How blocks are compressed on disk.
+     */
+    public RocksdbMavenPomCache(@Nullable Path workspace, long blockCacheSize, CompressionType compression) {
 
         assert workspace != null;
 
@@ -121,13 +149,13 @@ public class RocksdbMavenPomCache implements MavenPomCache {
             //noinspection ResultOfMethodCallIgnored
             lock.delete();
         }
-        cache = getCache(pomCacheDir.getAbsolutePath());
+        cache = getCache(pomCacheDir.getAbsolutePath(), blockCacheSize, compression);
         fillUnresolvablePoms();
     }
 
     @Override
     public CacheResult<MavenMetadata> computeMavenMetadata(URI repo, String groupId, String artifactId, Callable<MavenMetadata> orElseGet) throws Exception {
-        byte[] key = serialize(new GroupArtifactRepository(repo, new GroupArtifact(groupId, artifactId)));
+        byte[] key = key("metadata:" + repo + "|" + groupId + ':' + artifactId);
         Optional<MavenMetadata> rawMavenMetadata = deserializeMavenMetadata(cache.get(key));
 
         //noinspection OptionalAssignedToNull
@@ -159,7 +187,7 @@ public class RocksdbMavenPomCache implements MavenPomCache {
             return UNAVAILABLE_POM;
         }
 
-        byte[] key = serialize(repo.toString() + ":" + artifactCoordinates);
+        byte[] key = key(pomKeyPrefix(repo, groupId, artifactId) + version);
         Optional<RawMaven> rawMavenEntry;
         rawMavenEntry = deserializeRawMaven(cache.get(key));
 
@@ -169,10 +197,10 @@ public class RocksdbMavenPomCache implements MavenPomCache {
             try {
                 RawMaven rawMaven = orElseGet.call();
                 //Note: we store an empty optional in the cache if not resolved.
-                cache.put(key, serialize(Optional.ofNullable(rawMaven)));
+                cache.put(key, serializeRawMaven(rawMaven));
                 return new CacheResult<>(CacheResult.State.Updated, rawMaven);
             } catch (Exception e) {
-                cache.put(key, serialize(Optional.empty()));
+                cache.put(key, serializeRawMaven(null));
                 throw e;
             }
         }
@@ -184,7 +212,7 @@ public class RocksdbMavenPomCache implements MavenPomCache {
 
     @Override
     public CacheResult<MavenRepository> computeRepository(MavenRepository repository, Callable<MavenRepository> orElseGet) throws Exception {
-        byte[] key = serialize(repository);
+        byte[] key = concat(REPOSITORY_KEY_PREFIX, serialize(repository));
         Optional<MavenRepository> cacheEntry = deserializeMavenRepository(cache.get(key));
 
         //noinspection OptionalAssignedToNull
@@ -206,6 +234,20 @@ public class RocksdbMavenPomCache implements MavenPomCache {
                 .orElse(UNAVAILABLE_REPOSITORY);
     }
 
+    private static String pomKeyPrefix(URI repo, String groupId, String artifactId) {
+        return "pom:" + repo + "|" + groupId + ':' + artifactId + ':';
+    }
+
+    private static byte[] key(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] both = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, both, a.length, b.length);
+        return both;
+    }
+
     private void fillUnresolvablePoms() {
         new BufferedReader(new InputStreamReader(MavenPomDownloader.class.getResourceAsStream("/unresolvable.txt"), StandardCharsets.UTF_8))
                 .lines()
@@ -224,6 +266,29 @@ public class RocksdbMavenPomCache implements MavenPomCache {
         }
     }
 
+    /**
+     * A pom is stored as the model that resolution reads followed by its XML document, which is read lazily:
+     * <pre>
+     * [0] if the pom is unavailable, otherwise
+     * [1][model length][model][repository length, or -1 if none][repository][1 if a project pom, else 0][document]
+     * </pre>
+     */
+    static byte[] serializeRawMaven(@Nullable RawMaven rawMaven) {
+        if (rawMaven == null) {
+            return new byte[]{0};
+        }
+        byte[] pom = serialize(rawMaven.getPom());
+        byte[] repository = rawMaven.getRepository() == null ? new byte[0] : serialize(rawMaven.getRepository());
+        byte[] document = serialize(rawMaven.getDocument());
+        return ByteBuffer.allocate(1 + 4 + pom.length + 4 + repository.length + 1 + document.length)
+                .put((byte) 1)
+                .putInt(pom.length).put(pom)
+                .putInt(rawMaven.getRepository() == null ? -1 : repository.length).put(repository)
+                .put((byte) (rawMaven.isProjectPom() ? 1 : 0))
+                .put(document)
+                .array();
+    }
+
     // Note: these methods intentionally return a null optional, which is used as a "cache miss".
     @SuppressWarnings("OptionalAssignedToNull")
     static Optional<MavenRepository> deserializeMavenRepository(byte[] bytes) {
@@ -245,7 +310,24 @@ public class RocksdbMavenPomCache implements MavenPomCache {
             return null;
         }
         try {
-            return mapper.readValue(bytes, new TypeReference<Optional<RawMaven>>() {});
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() == 0) {
+                return Optional.empty();
+            }
+
+            int pomLength = buffer.getInt();
+            RawPom pom = mapper.readValue(bytes, buffer.position(), pomLength, RawPom.class);
+            buffer.position(buffer.position() + pomLength);
+
+            int repositoryLength = buffer.getInt();
+            MavenRepository repository = null;
+            if (repositoryLength >= 0) {
+                repository = mapper.readValue(bytes, buffer.position(), repositoryLength, MavenRepository.class);
+                buffer.position(buffer.position() + repositoryLength);
+            }
+
+            boolean projectPom = buffer.get() == 1;
+            return Optional.of(new LazyDocumentRawMaven(pom, projectPom, repository, bytes, buffer.position()));
         } catch (Exception e) {
             //Treat deserialization errors as a cache miss, this will force rewrite to re-download and re-cache the
             //results.
@@ -267,6 +349,51 @@ public class RocksdbMavenPomCache implements MavenPomCache {
         }
     }
 
+    /**
+     * A pom read from the cache, whose XML document is deserialized the first time it is needed.
+     */
+    private static class LazyDocumentRawMaven extends RawMaven {
+        private final byte[] bytes;
+        private final int documentOffset;
+
+        @Nullable
+        private volatile Xml.Document document;
+
+        LazyDocumentRawMaven(RawPom pom, boolean projectPom, @Nullable MavenRepository repository,
+                             byte[] bytes, int documentOffset) {
+            super(null, pom, projectPom, repository);
+            this.bytes = bytes;
+            this.documentOffset = documentOffset;
+        }
+
+        @Override
+        public Xml.Document getDocument() {
+            Xml.Document d = document;
+            if (d == null) {
+                try {
+                    d = mapper.readValue(bytes, documentOffset, bytes.length - documentOffset, Xml.Document.class);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to deserialize the cached document of " +
+                            getPom().getGroupId() + ':' + getPom().getArtifactId() + ':' + getPom().getVersion(), e);
+                }
+                document = d;
+            }
+            return d;
+        }
+
+        @Override
+        public RawMaven withProjectPom(boolean projectPom) {
+            return projectPom == isProjectPom() ? this :
+                    new LazyDocumentRawMaven(getPom(), projectPom, getRepository(), bytes, documentOffset);
+        }
+
+        @Override
+        public RawMaven withRepository(@Nullable MavenRepository repository) {
+            return repository == getRepository() ? this :
+                    new LazyDocumentRawMaven(getPom(), isProjectPom(), repository, bytes, documentOffset);
+        }
+    }
+
     /**
      * Wrapper class around the rocksdb. The database and options are all backed by C++ data structures that
      * must be explicitly closed to ensure proper memory management. Note, if the same database is being used
@@ -279,11 +406,23 @@ public class RocksdbMavenPomCache implements MavenPomCache {
         private final RocksDB database;
         private final Options options;
         private final WriteOptions writeOptions;
+        private final LRUCache blockCache;
+        private final BloomFilter bloomFilter;
 
-        RocksCache(String pomCacheDir) {
+        RocksCache(String pomCacheDir, long blockCacheSize, CompressionType compression) {
             try {
                 options = new Options();
                 options.setCreateIfMissing(true);
+
+                //Poms compress well, and are read far more often than they are written.
+                options.setCompressionType(compression);
+                blockCache = new LRUCache(blockCacheSize);
+                //A bloom filter lets a lookup of a pom that is not cached skip reading any blocks from disk.
+                bloomFilter = new BloomFilter(10);
+                options.setTableFormatConfig(new BlockBasedTableConfig()
+                        .setBlockCache(blockCache)
+                        .setFilterPolicy(bloomFilter));
+
                 //Default memtable buffer size is 64MB, changing this to 1MB because we are only caching pom.xml files
                 //When the memtable exceeds 1MB, rocks will write the contents to disk. Note, closing the database
                 //also forces a flush to occur.
@@ -306,6 +445,25 @@ public class RocksdbMavenPomCache implements MavenPomCache {
             } catch (Exception ex) {
                 throw new IllegalStateException("Unable to clear corrupt maven pom cache.", ex);
             }
+
+            try {
+                clearIfOlderKeyFormat();
+            } catch (RocksDBException ex) {
+                throw new IllegalStateException("Unable to clear maven pom cache written in an older format.", ex);
+            }
+        }
+
+        /**
+         * Entries written with a different key or value layout would never be read again, so remove them rather
+         * than let them take up space forever.
+         */
+        private void clearIfOlderKeyFormat() throws RocksDBException {
+            byte[] format = database.get(FORMAT_KEY);
+            if (!Arrays.equals(format, FORMAT)) {
+                // every key is either a Smile document, which starts with ':', or starts with an ASCII prefix
+                database.deleteRange(writeOptions, new byte[0], new byte[]{(byte) 0xFF});
+                database.put(writeOptions, FORMAT_KEY, FORMAT);
+            }
         }
 
         private void cleanCacheIfCorrupt(String pomCacheDir) throws IOException {
@@ -331,6 +489,7 @@ public class RocksdbMavenPomCache implements MavenPomCache {
         private byte[] get(byte[] key) throws RocksDBException {
             return database.get(key);
         }
+
         private void close() {
             //Called by a shutdown hook, this will flush any in-memory memtables to disk and free up resources held
             //by the underlying C++ code. The worse case scenario is that this is not called because the system exits
@@ -338,6 +497,8 @@ public class RocksdbMavenPomCache implements MavenPomCache {
             database.close();
             writeOptions.close();
             options.close();
+            blockCache.close();
+            bloomFilter.close();
         }
     }
 
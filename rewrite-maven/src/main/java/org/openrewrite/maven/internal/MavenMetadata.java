@@ -15,20 +15,24 @@
  */
 package org.openrewrite.maven.internal;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.xml.XmlParser;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @Getter
@@ -60,6 +64,12 @@ public class MavenMetadata {
         @Nullable
         Snapshot snapshot;
 
+        @JsonIgnore
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        @Nullable
+        transient volatile List<Version> sortedVersions;
+
         public Versioning(
                 @JacksonXmlElementWrapper(localName = "versions") List<String> versions,
                 @Nullable List<SnapshotVersion> snapshotVersions,
@@ -68,6 +78,24 @@ public class MavenMetadata {
             this.snapshotVersions = snapshotVersions;
             this.snapshot = snapshot;
         }
+
+        /**
+         * @return The versions parsed and sorted from oldest to newest, computed the first time they are asked for.
+         */
+        public List<Version> getSortedVersions() {
+            List<Version> sorted = sortedVersions;
+            if (sorted == null) {
+                sorted = new ArrayList<>(versions.size());
+                for (String version : versions) {
+                    sorted.add(Version.valueOf(version));
+                }
+                // stable, so that of versions that compare equal the one listed first stays first
+                sorted.sort(null);
+                sorted = unmodifiableList(sorted);
+                sortedVersions = sorted;
+            }
+            return sorted;
+        }
     }
 
     public static MavenMetadata parse(byte[] document) {
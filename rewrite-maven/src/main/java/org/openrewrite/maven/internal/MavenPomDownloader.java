@@ -18,10 +18,14 @@ package org.openrewrite.maven.internal;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
 import io.vavr.CheckedFunction1;
 import okhttp3.*;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Parser;
 import org.openrewrite.internal.StringUtils;
@@ -36,18 +40,21 @@ import org.openrewrite.maven.tree.MavenRepositoryCredentials;
 import org.openrewrite.maven.tree.MavenRepositoryMirror;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
+import static org.openrewrite.internal.ConcurrencyUtils.newDaemonThreadPool;
 
 public class MavenPomDownloader {
     private static final RetryConfig retryConfig = RetryConfig.custom()
@@ -67,6 +74,16 @@ public class MavenPomDownloader {
             mavenDownloaderRetry,
             (request) -> httpClient.newCall(request).execute());
 
+    // Bounds the number of downloads in flight across all downloaders. Only downloads run on these threads, so a
+    // thread waiting on a download it didn't start can't starve the one that did.
+    private static final int MAX_CONCURRENT_DOWNLOADS = 16;
+    private static final ExecutorService downloadExecutor = newDaemonThreadPool(MAX_CONCURRENT_DOWNLOADS,
+            "rewrite-maven-download");
+
+    // Requests to a repository beyond this many in flight wait for one of them to complete.
+    private static final int MAX_CONCURRENT_REQUESTS_PER_REPOSITORY = 8;
+    private static final Map<String, Semaphore> repositoryPermits = new ConcurrentHashMap<>();
+
     // https://maven.apache.org/ref/3.6.3/maven-model-builder/super-pom.html
     private static final MavenRepository SUPER_POM_REPOSITORY = new MavenRepository("central",
             URI.create("https://repo.maven.apache.org/maven2"), true, false, true, null, null);
@@ -75,6 +92,9 @@ public class MavenPomDownloader {
     private final Map<Path, RawMaven> projectPoms;
     private final MavenExecutionContextView ctx;
 
+    // Fetches in flight, keyed by what they fetch, so concurrent requests for the same thing share one fetch.
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
     public MavenPomDownloader(MavenPomCache mavenPomCache, Map<Path, RawMaven> projectPoms, ExecutionContext ctx) {
         this.mavenPomCache = mavenPomCache;
         this.projectPoms = projectPoms;
@@ -154,19 +174,35 @@ public class MavenPomDownloader {
                 (version == null ? "" : version + '/') +
                 "maven-metadata.xml";
 
-        Request.Builder request = applyAuthenticationToRequest(repo, new Request.Builder().url(uri).get());
-        try (Response response = sendRequest.apply(request.build())) {
-            if (response.isSuccessful() && response.body() != null) {
-                @SuppressWarnings("ConstantConditions") byte[] responseBody = response.body()
-                        .bytes();
+        try {
+            return coalesce("metadata " + uri, () -> {
+                Request.Builder request = applyAuthenticationToRequest(repo, new Request.Builder().url(uri).get());
+                try (Response response = send(repo, request.build(), "metadata")) {
+                    if (response.isSuccessful() && response.body() != null) {
+                        @SuppressWarnings("ConstantConditions") byte[] responseBody = response.body()
+                                .bytes();
+
+                        return MavenMetadata.parse(responseBody);
+                    }
+                } catch (Throwable throwable) {
+                    return null;
+                }
 
-                return MavenMetadata.parse(responseBody);
-            }
-        } catch (Throwable throwable) {
+                return null;
+            });
+        } catch (Exception e) {
             return null;
         }
+    }
 
-        return null;
+    /**
+     * Download the metadata of an artifact on another thread.
+     *
+     * @see #downloadMetadata(String, String, Collection)
+     */
+    public CompletableFuture<MavenMetadata> downloadMetadataAsync(String groupId, String artifactId,
+                                                                  Collection<MavenRepository> repositories) {
+        return CompletableFuture.supplyAsync(() -> downloadMetadata(groupId, artifactId, repositories), downloadExecutor);
     }
 
     private Timer.Builder addTagsByResult(Timer.Builder timer, CacheResult<?> result) {
@@ -258,27 +294,29 @@ public class MavenPomDownloader {
                                     version + '/' +
                                     artifactId + '-' + versionMaybeDatedSnapshot + ".pom";
 
-                            Request.Builder request = applyAuthenticationToRequest(repo, new Request.Builder().url(uri).get());
-                            int responseCode;
-                            try (Response response = sendRequest.apply(request.build())) {
-                                responseCode = response.code();
-                                if (response.isSuccessful() && response.body() != null) {
-                                    @SuppressWarnings("ConstantConditions") byte[] responseBody = response.body()
-                                            .bytes();
-
-                                    // This path doesn't matter except for debugging/error logs where it might get displayed
-                                    Path inputPath = Paths.get(groupId, artifactId, version);
-                                    return RawMaven.parse(
-                                            new Parser.Input(inputPath, () -> new ByteArrayInputStream(responseBody), true),
-                                            null,
-                                            versionMaybeDatedSnapshot.equals(version) ? null : versionMaybeDatedSnapshot,
-                                            ctx
-                                    ).withRepository(repo);
+                            return coalesce("pom " + uri, () -> {
+                                Request.Builder request = applyAuthenticationToRequest(repo, new Request.Builder().url(uri).get());
+                                int responseCode;
+                                try (Response response = send(repo, request.build(), "pom")) {
+                                    responseCode = response.code();
+                                    if (response.isSuccessful() && response.body() != null) {
+                                        @SuppressWarnings("ConstantConditions") byte[] responseBody = response.body()
+                                                .bytes();
+
+                                        // This path doesn't matter except for debugging/error logs where it might get displayed
+                                        Path inputPath = Paths.get(groupId, artifactId, version);
+                                        return RawMaven.parse(
+                                                new Parser.Input(inputPath, () -> new ByteArrayInputStream(responseBody), true),
+                                                null,
+                                                versionMaybeDatedSnapshot.equals(version) ? null : versionMaybeDatedSnapshot,
+                                                ctx
+                                        ).withRepository(repo);
+                                    }
+                                } catch (Throwable throwable) {
+                                    throw new MavenDownloadingException(throwable);
                                 }
-                            } catch (Throwable throwable) {
-                                throw new MavenDownloadingException(throwable);
-                            }
-                            throw new MavenDownloadingException("HTTP response code: %d", responseCode, uri);
+                                throw new MavenDownloadingException("HTTP response code: %d", responseCode, uri);
+                            });
                         });
 
                 sample.stop(addTagsByResult(timer, result).register(Metrics.globalRegistry));
@@ -303,6 +341,144 @@ public class MavenPomDownloader {
         return null;
     }
 
+    /**
+     * Download a POM on another thread. Errors are reported to {@code ctx} on that thread.
+     *
+     * @see #download(String, String, String, String, RawMaven, Collection, ExecutionContext)
+     */
+    public CompletableFuture<RawMaven> downloadAsync(String groupId,
+                                                     String artifactId,
+                                                     String version,
+                                                     @Nullable String relativePath,
+                                                     @Nullable RawMaven containingPom,
+                                                     Collection<MavenRepository> repositories,
+                                                     ExecutionContext ctx) {
+        return CompletableFuture.supplyAsync(() -> download(groupId, artifactId, version, relativePath, containingPom,
+                repositories, ctx), downloadExecutor);
+    }
+
+    /**
+     * Run a fetch unless the same fetch is already in flight, in which case wait for and share its result instead.
+     *
+     * @param key   Identifies what is fetched, e.g. the URL requested.
+     * @param fetch The fetch.
+     * @param <T>   The type of the result of the fetch.
+     * @return The result of this or the in flight fetch.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(String key, Callable<T> fetch) throws Exception {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> theirs = inFlight.putIfAbsent(key, mine);
+        if (theirs != null) {
+            try {
+                return (T) theirs.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+
+        try {
+            T result = fetch.call();
+            mine.complete(result);
+            return result;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Send a request to a repository once fewer than {@link #MAX_CONCURRENT_REQUESTS_PER_REPOSITORY} other requests
+     * to it are in flight, and time it. The request counts as in flight, and is timed, until the body of the response
+     * has been read or the response is closed.
+     */
+    private static Response send(MavenRepository repository, Request request, String type) throws Throwable {
+        String repositoryUri = repository.getUri().toString();
+        Semaphore permits = repositoryPermits.computeIfAbsent(repositoryUri, uri -> {
+            Semaphore s = new Semaphore(MAX_CONCURRENT_REQUESTS_PER_REPOSITORY);
+            Gauge.builder("rewrite.maven.requests.active", s, p -> MAX_CONCURRENT_REQUESTS_PER_REPOSITORY - p.availablePermits())
+                    .description("The number of requests in flight to a Maven repository")
+                    .tag("repo.id", uri)
+                    .register(Metrics.globalRegistry);
+            return s;
+        });
+
+        Timer.Builder timer = Timer.builder("rewrite.maven.request")
+                .description("The latency of requests to a Maven repository")
+                .tag("repo.id", repositoryUri)
+                .tag("type", type);
+
+        permits.acquire();
+        Timer.Sample sample = Timer.start();
+        Response response;
+        try {
+            response = sendRequest.apply(request);
+        } catch (Throwable t) {
+            sample.stop(timer.tags("outcome", "error", "exception", t.getClass().getName())
+                    .register(Metrics.globalRegistry));
+            permits.release();
+            throw t;
+        }
+
+        Timer responseTimer = timer.tags("outcome", response.isSuccessful() ? "success" : Integer.toString(response.code()),
+                "exception", "none").register(Metrics.globalRegistry);
+        Runnable complete = () -> {
+            sample.stop(responseTimer);
+            permits.release();
+        };
+
+        ResponseBody body = response.body();
+        if (body == null) {
+            complete.run();
+            return response;
+        }
+        return response.newBuilder().body(new CompletingResponseBody(body, complete)).build();
+    }
+
+    /**
+     * Runs a completion once, when the body is read to the end and closed or the response is closed, whichever
+     * comes first.
+     */
+    private static class CompletingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        private CompletingResponseBody(ResponseBody delegate, Runnable complete) {
+            this.delegate = delegate;
+            AtomicBoolean completed = new AtomicBoolean();
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (completed.compareAndSet(false, true)) {
+                            complete.run();
+                        }
+                    }
+                }
+            });
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+
     @Nullable
     private String datedSnapshotVersion(String groupId, String artifactId, String version, Collection<MavenRepository> repositories, ExecutionContext ctx) {
         if (version.endsWith("-SNAPSHOT")) {
@@ -365,14 +541,14 @@ public class MavenPomDownloader {
 
                 Request.Builder request = applyAuthenticationToRequest(repository, new Request.Builder()
                         .url(httpsUri).get());
-                try (Response ignored = sendRequest.apply(request.build())) {
+                try (Response ignored = send(repository, request.build(), "repository")) {
                     return repository.withUri(URI.create(httpsUri));
                 } catch (Throwable t) {
                     // Fallback to http if https is unavailable and the original URL was an http URL
                     if (httpsUri.equals(originalUrl)) {
                         return null;
                     }
-                    try (Response ignored = sendRequest.apply(request.url(originalUrl).build())) {
+                    try (Response ignored = send(repository, request.url(originalUrl).build(), "repository")) {
                         return new MavenRepository(
                                 repository.getId(),
                                 URI.create(originalUrl),
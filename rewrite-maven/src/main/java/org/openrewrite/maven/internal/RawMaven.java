@@ -60,13 +60,13 @@ public class RawMaven {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof RawMaven)) return false;
         RawMaven rawMaven = (RawMaven) o;
         return getSourceUri().equals(rawMaven.getSourceUri());
     }
 
     public Path getSourcePath() {
-        return document.getSourcePath();
+        return getDocument().getSourcePath();
     }
 
     @Override
@@ -116,7 +116,7 @@ public class RawMaven {
                     pom.getArtifactId() + '-' +
                     (pom.getSnapshotVersion() == null ? pom.getVersion() : pom.getSnapshotVersion()) + ".pom";
         } else {
-            sourceUri = "file://" + document.getSourcePath().toString();
+            sourceUri = "file://" + getDocument().getSourcePath().toString();
         }
         return sourceUri;
     }
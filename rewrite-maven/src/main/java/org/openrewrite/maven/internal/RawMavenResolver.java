@@ -19,6 +19,7 @@ import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.openrewrite.DelegatingExecutionContext;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.internal.MetricsHelper;
 import org.openrewrite.internal.PropertyPlaceholderHelper;
@@ -30,6 +31,9 @@ import org.openrewrite.xml.tree.Xml;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import static java.util.Collections.*;
 import static java.util.stream.Collectors.joining;
@@ -147,6 +151,12 @@ public class RawMavenResolver {
         RawPom pom = task.getRawMaven().getPom();
         List<DependencyManagementDependency> managedDependencies = new ArrayList<>();
 
+        // BOM imports are downloaded together once the whole section has been read, and then take the place of the
+        // null placeholders in managedDependencies so that the declaration order is kept.
+        List<Integer> importIndices = new ArrayList<>();
+        List<DownloadRequest> imports = new ArrayList<>();
+        List<String> importRequestedVersions = new ArrayList<>();
+
         for (RawPom.Dependency d : pom.getActiveDependencyManagementDependencies(activeProfiles)) {
             if (d.getVersion() == null) {
                 ctx.getOnError().accept(new MavenParsingException(
@@ -176,17 +186,10 @@ public class RawMavenResolver {
                                     "managed dependency %s:%s.",
                             pom.getGroupId(), pom.getArtifactId(), pom.getVersion(), d.getGroupId(), d.getArtifactId()));
                 } else {
-                    RawMaven rawMaven = downloader.download(groupId, artifactId, version, null, null,
-                            partialMaven.getRepositories(), ctx);
-                    if (rawMaven != null) {
-                        Pom maven = new RawMavenResolver(downloader, activeProfiles, resolveOptional, ctx, projectDir)
-                                .resolve(rawMaven, Scope.Compile, d.getVersion(), new HashMap<>(), partialMaven.getRepositories());
-
-                        if (maven != null) {
-                            managedDependencies.add(new DependencyManagementDependency.Imported(groupId, artifactId,
-                                    version, d.getVersion(), maven));
-                        }
-                    }
+                    importIndices.add(managedDependencies.size());
+                    imports.add(new DownloadRequest(groupId, artifactId, version, null, partialMaven.getRepositories()));
+                    importRequestedVersions.add(d.getVersion());
+                    managedDependencies.add(null);
                 }
             } else {
                 Scope scope = d.getScope() == null ? null : Scope.fromName(d.getScope());
@@ -199,6 +202,22 @@ public class RawMavenResolver {
             }
         }
 
+        List<RawMaven> downloadedImports = downloadAll(imports);
+        for (int i = 0; i < imports.size(); i++) {
+            RawMaven rawMaven = downloadedImports.get(i);
+            if (rawMaven != null) {
+                DownloadRequest request = imports.get(i);
+                Pom maven = new RawMavenResolver(downloader, activeProfiles, resolveOptional, ctx, projectDir)
+                        .resolve(rawMaven, Scope.Compile, importRequestedVersions.get(i), new HashMap<>(), request.getRepositories());
+
+                if (maven != null) {
+                    managedDependencies.set(importIndices.get(i), new DependencyManagementDependency.Imported(
+                            request.getGroupId(), request.getArtifactId(), request.getVersion(), importRequestedVersions.get(i), maven));
+                }
+            }
+        }
+        managedDependencies.removeIf(Objects::isNull);
+
         partialMaven.setDependencyManagement(new Pom.DependencyManagement(managedDependencies));
     }
 
@@ -214,7 +233,9 @@ public class RawMavenResolver {
             }
         }
 
-        partialMaven.setDependencyTasks(rawMaven.getActiveDependencies(activeProfiles).stream()
+        // Versions are selected one dependency at a time in declaration order, because selection is nearest-wins,
+        // but the POMs of the selected versions don't depend on one another and are downloaded together.
+        List<SelectedDependency> selected = rawMaven.getActiveDependencies(activeProfiles).stream()
                 .filter(dep -> rawMaven.isProjectPom() || (resolveOptional || dep.getOptional() == null || !dep.getOptional()))
                 .map(dep -> {
                     // replace property references, source versions from dependency management sections, etc.
@@ -354,57 +375,114 @@ public class RawMavenResolver {
                         return null;
                     }
 
-                    RawMaven download = downloader.download(groupId, artifactId,
-                            version, null, rawMaven,
-                            partialMaven.getRepositories(), ctx);
+                    return new SelectedDependency(dep, requestedScope, new DownloadRequest(groupId, artifactId, version,
+                            rawMaven, partialMaven.getRepositories()));
+                })
+                .filter(Objects::nonNull)
+                .collect(toList());
 
-                    if (download == null) {
-                        ctx.getOnError().accept(new MavenParsingException("Unable to download %s:%s:%s. Including POM is at %s",
-                                groupId, artifactId, version, rawMaven));
-                        return null;
-                    }
+        List<RawMaven> downloads = downloadAll(selected.stream().map(SelectedDependency::getDownload).collect(toList()));
 
-                    Set<GroupArtifact> exclusions;
-                    if (dep.getExclusions() == null) {
-                        exclusions = task.getExclusions();
-                    } else {
-                        exclusions = new HashSet<>(task.getExclusions());
-                        for (GroupArtifact ex : dep.getExclusions()) {
-                            GroupArtifact groupArtifact = new GroupArtifact(
-                                    partialMaven.getRequiredValue(ex.getGroupId()),
-                                    partialMaven.getRequiredValue(ex.getArtifactId())
-                            );
-                            GroupArtifact artifact = new GroupArtifact(
-                                    groupArtifact.getGroupId() == null ? ".*" : groupArtifact.getGroupId().replace("*", ".*"),
-                                    groupArtifact.getArtifactId() == null ? ".*" : groupArtifact.getArtifactId().replace("*", ".*")
-                            );
-                            exclusions.add(artifact);
-                        }
-                    }
+        List<ResolutionTask> dependencyTasks = new ArrayList<>(selected.size());
+        for (int i = 0; i < selected.size(); i++) {
+            RawPom.Dependency dep = selected.get(i).getDependency();
+            Scope requestedScope = selected.get(i).getRequestedScope();
+            DownloadRequest request = selected.get(i).getDownload();
+            RawMaven download = downloads.get(i);
 
-                    ResolutionTask resolutionTask = new ResolutionTask(
-                            requestedScope,
-                            download,
-                            exclusions,
-                            dep.getOptional() != null && dep.getOptional(),
-                            dep.getClassifier(),
-                            dep.getType(),
-                            dep.getVersion(),
-                            new HashMap<>(),
-                            partialMaven.getRepositories(),
-                            task.getProjectPom() == null ? partialMaven : task.getProjectPom(),
-                            task.getSeenParentPoms()
+            if (download == null) {
+                ctx.getOnError().accept(new MavenParsingException("Unable to download %s:%s:%s. Including POM is at %s",
+                        request.getGroupId(), request.getArtifactId(), request.getVersion(), rawMaven));
+                continue;
+            }
+
+            Set<GroupArtifact> exclusions;
+            if (dep.getExclusions() == null) {
+                exclusions = task.getExclusions();
+            } else {
+                exclusions = new HashSet<>(task.getExclusions());
+                for (GroupArtifact ex : dep.getExclusions()) {
+                    GroupArtifact groupArtifact = new GroupArtifact(
+                            partialMaven.getRequiredValue(ex.getGroupId()),
+                            partialMaven.getRequiredValue(ex.getArtifactId())
+                    );
+                    GroupArtifact artifact = new GroupArtifact(
+                            groupArtifact.getGroupId() == null ? ".*" : groupArtifact.getGroupId().replace("*", ".*"),
+                            groupArtifact.getArtifactId() == null ? ".*" : groupArtifact.getArtifactId().replace("*", ".*")
                     );
+                    exclusions.add(artifact);
+                }
+            }
 
-                    if (!partialResults.containsKey(resolutionTask)) {
-                        // otherwise we've already resolved this subtree previously!
-                        workQueue.add(resolutionTask);
-                    }
+            ResolutionTask resolutionTask = new ResolutionTask(
+                    requestedScope,
+                    download,
+                    exclusions,
+                    dep.getOptional() != null && dep.getOptional(),
+                    dep.getClassifier(),
+                    dep.getType(),
+                    dep.getVersion(),
+                    new HashMap<>(),
+                    partialMaven.getRepositories(),
+                    task.getProjectPom() == null ? partialMaven : task.getProjectPom(),
+                    task.getSeenParentPoms()
+            );
+
+            if (!partialResults.containsKey(resolutionTask)) {
+                // otherwise we've already resolved this subtree previously!
+                workQueue.add(resolutionTask);
+            }
 
-                    return resolutionTask;
-                })
-                .filter(Objects::nonNull)
-                .collect(toList()));
+            dependencyTasks.add(resolutionTask);
+        }
+
+        partialMaven.setDependencyTasks(dependencyTasks);
+    }
+
+    /**
+     * Download POMs concurrently. Errors are reported in the order of the requests, as if the POMs had been
+     * downloaded one after the other.
+     *
+     * @param requests The POMs to download.
+     * @return The downloaded POMs, or null for those that could not be downloaded, in the order of the requests.
+     */
+    private List<RawMaven> downloadAll(List<DownloadRequest> requests) {
+        if (requests.size() < 2) {
+            List<RawMaven> downloads = new ArrayList<>(requests.size());
+            for (DownloadRequest request : requests) {
+                downloads.add(downloader.download(request.getGroupId(), request.getArtifactId(), request.getVersion(),
+                        null, request.getContainingPom(), request.getRepositories(), ctx));
+            }
+            return downloads;
+        }
+
+        List<CompletableFuture<CapturedDownload>> futures = new ArrayList<>(requests.size());
+        for (DownloadRequest request : requests) {
+            List<Throwable> errors = new ArrayList<>();
+            futures.add(downloader.downloadAsync(request.getGroupId(), request.getArtifactId(), request.getVersion(),
+                    null, request.getContainingPom(), request.getRepositories(), new DelegatingExecutionContext(ctx) {
+                        @Override
+                        public Consumer<Throwable> getOnError() {
+                            return errors::add;
+                        }
+                    }).thenApply(download -> new CapturedDownload(download, errors)));
+        }
+
+        List<RawMaven> downloads = new ArrayList<>(requests.size());
+        for (CompletableFuture<CapturedDownload> future : futures) {
+            CapturedDownload captured;
+            try {
+                captured = future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            captured.getErrors().forEach(ctx.getOnError());
+            downloads.add(captured.getDownload());
+        }
+        return downloads;
     }
 
     private void processParent(ResolutionTask task, PartialMaven partialMaven) {
@@ -717,6 +795,33 @@ public class RawMavenResolver {
         }
     }
 
+    @Value
+    static class DownloadRequest {
+        String groupId;
+        String artifactId;
+        String version;
+
+        @Nullable
+        RawMaven containingPom;
+
+        List<MavenRepository> repositories;
+    }
+
+    @Value
+    static class SelectedDependency {
+        RawPom.Dependency dependency;
+        Scope requestedScope;
+        DownloadRequest download;
+    }
+
+    @Value
+    static class CapturedDownload {
+        @Nullable
+        RawMaven download;
+
+        List<Throwable> errors;
+    }
+
     @Value
     static class PartialTreeKey {
         String groupId;
@@ -26,12 +26,10 @@ import org.openrewrite.maven.tree.MavenRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.toList;
 
@@ -76,7 +74,7 @@ public class RequestedVersion {
                 @Override
                 public VersionSpec visitRequestedVersion(VersionRangeParser.RequestedVersionContext ctx) {
                     if (ctx.version() != null) {
-                        return new SoftRequirement(new Version(ctx.version().getText()));
+                        return new SoftRequirement(Version.valueOf(ctx.version().getText()));
                     }
 
                     return new RangeSet(ctx.range().stream()
@@ -100,11 +98,11 @@ public class RequestedVersion {
                 }
 
                 private Version toVersion(TerminalNode version) {
-                    return new Version(version.getText());
+                    return Version.valueOf(version.getText());
                 }
             }.visit(parser.requestedVersion());
         } else {
-            this.versionSpec = new SoftRequirement(new Version(requested));
+            this.versionSpec = new SoftRequirement(Version.valueOf(requested));
         }
     }
 
@@ -137,14 +135,91 @@ public class RequestedVersion {
      */
     @Nullable
     public String selectFrom(Iterable<String> availableVersions) {
-        Stream<Version> versionStream = StreamSupport.stream(availableVersions.spliterator(), false)
-                .map(Version::new);
-        return (isRange() ?
-                versionStream.filter(this::rangeMatch) :
-                versionStream
-                        .filter(v -> ((DynamicVersion) versionSpec).kind.equals(DynamicVersion.Kind.LATEST) || !v.toString().endsWith("-SNAPSHOT"))
-
-        ).max(Comparator.naturalOrder()).map(Version::toString).orElse(null);
+        List<Version> sortedVersions = new ArrayList<>();
+        for (String availableVersion : availableVersions) {
+            sortedVersions.add(Version.valueOf(availableVersion));
+        }
+        sortedVersions.sort(null);
+        return selectFrom(sortedVersions);
+    }
+
+    /**
+     * When the requested version is a range set or dynamic, select the latest matching version.
+     *
+     * @param metadata The maven metadata listing the available versions.
+     * @return The latest version matching the range set.
+     */
+    @Nullable
+    public String selectFrom(MavenMetadata metadata) {
+        return selectFrom(metadata.getVersioning().getSortedVersions());
+    }
+
+    /**
+     * Rather than test every version against the range set, start from the newest version at or below the upper
+     * bound of each range, found by binary search, and walk down only as far as the first one that matches.
+     */
+    @Nullable
+    private String selectFrom(List<Version> sortedVersions) {
+        int selected = -1;
+        if (isRange()) {
+            for (Range range : ((RangeSet) versionSpec).ranges) {
+                int i = range.upper == null ? sortedVersions.size() - 1 :
+                        upperIndex(sortedVersions, range.upper, range.upperClosed);
+
+                // versions no newer than the one already selected need not be considered
+                for (; i > selected; i--) {
+                    Version version = sortedVersions.get(i);
+                    if (range.lower != null) {
+                        int lowComp = range.lower.compareTo(version);
+                        if (lowComp > 0 || (lowComp == 0 && !range.lowerClosed)) {
+                            break;
+                        }
+                    }
+                    if (nearer == null || nearer.rangeMatch(version)) {
+                        selected = i;
+                        break;
+                    }
+                }
+            }
+        } else {
+            boolean latest = ((DynamicVersion) versionSpec).kind.equals(DynamicVersion.Kind.LATEST);
+            for (int i = sortedVersions.size() - 1; i >= 0; i--) {
+                if (latest || !sortedVersions.get(i).toString().endsWith("-SNAPSHOT")) {
+                    selected = i;
+                    break;
+                }
+            }
+        }
+
+        if (selected < 0) {
+            return null;
+        }
+
+        // of versions that compare equal, like 1.0 and 1.0.0, select the one listed first
+        while (selected > 0 && sortedVersions.get(selected - 1).compareTo(sortedVersions.get(selected)) == 0) {
+            selected--;
+        }
+        return sortedVersions.get(selected).toString();
+    }
+
+    /**
+     * @return The index of the newest version below (or at, when closed) the upper bound, or -1 if there is none.
+     */
+    private static int upperIndex(List<Version> sortedVersions, Version upper, boolean closed) {
+        int low = 0;
+        int high = sortedVersions.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comp = sortedVersions.get(mid).compareTo(upper);
+            if (comp < 0 || (comp == 0 && closed)) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
     }
 
     private boolean rangeMatch(Version version) {
@@ -235,7 +310,7 @@ public class RequestedVersion {
         if (isRange() || isDynamic()) {
             MavenMetadata metadata = downloader.downloadMetadata(groupArtifact.getGroupId(),
                     groupArtifact.getArtifactId(), repositories);
-            selectedVersion = selectFrom(metadata.getVersioning().getVersions());
+            selectedVersion = selectFrom(metadata);
         } else {
             selectedVersion = nearestVersion();
         }
@@ -15,6 +15,7 @@
  */
 package org.openrewrite.maven.internal;
 
+import org.openrewrite.internal.WeakInterner;
 import org.openrewrite.internal.lang.Nullable;
 
 import java.math.BigInteger;
@@ -24,6 +25,8 @@ import java.util.*;
  * Modified from <code>org.eclipse.aether.util.version.GenericVersion</code>.
  */
 public class Version implements Comparable<Version> {
+    private static final WeakInterner<Version> interned = new WeakInterner<>("maven.version", 128, 100_000);
+
     private final String version;
     private final Version.Item[] items;
 
@@ -32,6 +35,17 @@ public class Version implements Comparable<Version> {
         this.items = parse(version);
     }
 
+    /**
+     * The same versions are compared over and over while resolving dependencies and selecting from maven metadata,
+     * so they are parsed once and shared.
+     *
+     * @param version Any version text.
+     * @return A parsed version, shared with every other caller that asks for the same text.
+     */
+    public static Version valueOf(String version) {
+        return interned.intern(version, Version::new);
+    }
+
     private static Version.Item[] parse(String version) {
         List<Item> items = new ArrayList<>();
         Version.Tokenizer tokenizer = new Version.Tokenizer(version);
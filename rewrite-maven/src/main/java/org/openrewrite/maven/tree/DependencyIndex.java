@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.tree;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.*;
+
+import static java.util.Collections.*;
+
+/**
+ * The transitive dependencies of a POM that are on the classpath of one scope, indexed by their coordinates.
+ * An index is built the first time the POM is asked about a scope, and never changes after that.
+ */
+public class DependencyIndex {
+    private static final Comparator<Pom.Dependency> BY_COORDINATES = Comparator.comparing(Pom.Dependency::getCoordinates);
+
+    private final Scope scope;
+    private final Set<Pom.Dependency> dependencies;
+    private final Map<GroupArtifact, List<Pom.Dependency>> byGroupArtifact = new HashMap<>();
+
+    /**
+     * Keyed by "groupId:artifactId", for lookup by prefix.
+     */
+    private final NavigableMap<String, List<Pom.Dependency>> byGroupArtifactCoordinates = new TreeMap<>();
+
+    /**
+     * The transitive closure of individual dependencies in this scope, by identity.
+     */
+    private final Map<Pom.Dependency, Set<Pom.Dependency>> closures = synchronizedMap(new IdentityHashMap<>());
+
+    DependencyIndex(Collection<Pom.Dependency> roots, Scope scope) {
+        this.scope = scope;
+
+        Set<Pom.Dependency> found = new TreeSet<>(BY_COORDINATES);
+        Set<Pom.Dependency> visited = newSetFromMap(new IdentityHashMap<>());
+        for (Pom.Dependency root : roots) {
+            addDependenciesFromScope(root, found, visited);
+        }
+        this.dependencies = unmodifiableSet(found);
+
+        for (Pom.Dependency dependency : found) {
+            GroupArtifact ga = new GroupArtifact(dependency.getGroupId(), dependency.getArtifactId());
+            List<Pom.Dependency> versions = byGroupArtifact.computeIfAbsent(ga, k -> new ArrayList<>(1));
+            versions.add(dependency);
+            byGroupArtifactCoordinates.putIfAbsent(ga.getGroupId() + ':' + ga.getArtifactId(), versions);
+        }
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * @return Every transitive dependency in this scope, sorted by, and distinct in, their coordinates.
+     */
+    public Set<Pom.Dependency> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * @param groupId    The group to look for.
+     * @param artifactId The artifact to look for.
+     * @return Whether any version of the artifact is on the classpath of this scope.
+     */
+    public boolean contains(String groupId, String artifactId) {
+        return byGroupArtifact.containsKey(new GroupArtifact(groupId, artifactId));
+    }
+
+    /**
+     * @param groupId    The group to look for.
+     * @param artifactId The artifact to look for.
+     * @return Every version of the artifact on the classpath of this scope, if any.
+     */
+    public List<Pom.Dependency> find(String groupId, String artifactId) {
+        List<Pom.Dependency> versions = byGroupArtifact.get(new GroupArtifact(groupId, artifactId));
+        return versions == null ? emptyList() : unmodifiableList(versions);
+    }
+
+    /**
+     * @param groupId    The group to look for.
+     * @param artifactId The artifact to look for.
+     * @param version    The version to look for.
+     * @return The dependency with these coordinates, if it is on the classpath of this scope.
+     */
+    @Nullable
+    public Pom.Dependency find(String groupId, String artifactId, String version) {
+        for (Pom.Dependency dependency : find(groupId, artifactId)) {
+            if (version.equals(dependency.getVersion())) {
+                return dependency;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param prefix A prefix of "groupId:artifactId", e.g. "org.springframework" or "org.springframework.boot:spring-boot".
+     * @return Every dependency in this scope whose group and artifact start with the prefix.
+     */
+    public List<Pom.Dependency> findByPrefix(String prefix) {
+        List<Pom.Dependency> matches = new ArrayList<>();
+        for (List<Pom.Dependency> versions : byGroupArtifactCoordinates.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            matches.addAll(versions);
+        }
+        return matches;
+    }
+
+    /**
+     * @param dependency The dependency to determine the transitive closure of.
+     * @return The dependency and its transitive dependencies in this scope, sorted by, and distinct in, their coordinates.
+     */
+    Set<Pom.Dependency> getTransitiveDependencies(Pom.Dependency dependency) {
+        Set<Pom.Dependency> closure = closures.get(dependency);
+        if (closure == null) {
+            Set<Pom.Dependency> found = new TreeSet<>(BY_COORDINATES);
+            addDependenciesFromScope(dependency, found, newSetFromMap(new IdentityHashMap<>()));
+            closure = unmodifiableSet(found);
+            closures.put(dependency, closure);
+        }
+        return closure;
+    }
+
+    /**
+     * The same subtree is frequently reachable along several paths, but only has to be walked once.
+     */
+    private void addDependenciesFromScope(Pom.Dependency dep, Set<Pom.Dependency> found, Set<Pom.Dependency> visited) {
+        if ((dep.getScope().isInClasspathOf(scope) || dep.getScope().equals(scope)) && visited.add(dep)) {
+            found.add(dep);
+            for (Pom.Dependency child : dep.getModel().getDependencies()) {
+                addDependenciesFromScope(child, found, visited);
+            }
+        }
+    }
+}
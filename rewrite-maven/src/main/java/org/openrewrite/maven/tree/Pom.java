@@ -19,10 +19,12 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import org.openrewrite.internal.PropertyPlaceholderHelper;
 import org.openrewrite.internal.lang.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -90,18 +92,29 @@ public class Pom {
     Map<String, String> properties;
 
     /**
-     * Effective properties are collected across all pom.xml files that were resolved during a parse. These properties
-     * reflect what the value should be in the context of the entire maven tree and account for property precedence
-     * when the same property key is encountered multiple times.
+     * Effective properties are collected across all pom.xml files that were resolved for this POM's project pom,
+     * i.e. its parents and dependencies. These properties reflect what the value should be in the context of the
+     * entire maven tree and account for property precedence when the same property key is encountered multiple times.
      */
     Map<String, String> effectiveProperties;
 
+    @Getter(AccessLevel.NONE)
+    transient Map<Scope, DependencyIndex> dependencyIndices = new ConcurrentHashMap<>();
+
+    /**
+     * @param scope The scope whose classpath to index.
+     * @return The transitive dependencies on the classpath of the scope, indexed by their coordinates.
+     */
+    public DependencyIndex getDependencyIndex(Scope scope) {
+        return dependencyIndices.computeIfAbsent(scope, s -> new DependencyIndex(dependencies, s));
+    }
+
+    /**
+     * @param scope The scope whose classpath to return.
+     * @return An unmodifiable set of the transitive dependencies on the classpath of the scope.
+     */
     public Set<Dependency> getDependencies(Scope scope) {
-        Set<Dependency> dependenciesForScope = new TreeSet<>(Comparator.comparing(Dependency::getCoordinates));
-        for (Dependency dependency : dependencies) {
-            addDependenciesFromScope(scope, dependency, dependenciesForScope);
-        }
-        return dependenciesForScope;
+        return getDependencyIndex(scope).getDependencies();
     }
 
     /**
@@ -109,21 +122,10 @@ public class Pom {
      *
      * @param dependency The dependency to determine the transitive closure of. The result will include this dependency.
      * @param scope      The scope to traverse.
-     * @return A set of transitive dependencies including the provided dependency.
+     * @return An unmodifiable set of transitive dependencies including the provided dependency.
      */
     public Set<Dependency> getDependencies(Dependency dependency, Scope scope) {
-        Set<Dependency> dependenciesForScope = new TreeSet<>(Comparator.comparing(Dependency::getCoordinates));
-        addDependenciesFromScope(scope, dependency, dependenciesForScope);
-        return dependenciesForScope;
-    }
-
-    private void addDependenciesFromScope(Scope scope, Dependency dep, Set<Dependency> found) {
-        if (dep.getScope().isInClasspathOf(scope) || dep.getScope().equals(scope)) {
-            found.add(dep);
-            for (Dependency child : dep.getModel().getDependencies()) {
-                addDependenciesFromScope(scope, child, found);
-            }
-        }
+        return getDependencyIndex(scope).getTransitiveDependencies(dependency);
     }
 
     @Nullable
@@ -305,6 +307,15 @@ public class Pom {
 
         Set<GroupArtifact> exclusions;
 
+        /**
+         * This dependency and its transitive dependencies, each once, in the order they are first reached depth-first.
+         */
+        @NonFinal
+        @Nullable
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        transient volatile List<Dependency> transitiveDependencies;
+
         public String getGroupId() {
             return model.getGroupId();
         }
@@ -354,14 +365,33 @@ public class Pom {
          */
         public Collection<Pom.Dependency> findDependencies(Predicate<Dependency> matcher) {
             List<Pom.Dependency> matches = new ArrayList<>();
-            if (matcher.test(this)) {
-                matches.add(this);
-            }
-            for (Dependency d : model.getDependencies()) {
-                matches.addAll(d.findDependencies(matcher));
+            for (Dependency d : transitiveDependencies()) {
+                if (matcher.test(d)) {
+                    matches.add(d);
+                }
             }
             return matches;
         }
+
+        private List<Dependency> transitiveDependencies() {
+            List<Dependency> closure = transitiveDependencies;
+            if (closure == null) {
+                // each child's closure is computed once, however many paths lead to it
+                Set<Dependency> found = Collections.newSetFromMap(new IdentityHashMap<>());
+                closure = new ArrayList<>();
+                found.add(this);
+                closure.add(this);
+                for (Dependency child : model.getDependencies()) {
+                    for (Dependency d : child.transitiveDependencies()) {
+                        if (found.add(d)) {
+                            closure.add(d);
+                        }
+                    }
+                }
+                transitiveDependencies = closure;
+            }
+            return closure;
+        }
     }
 
     @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
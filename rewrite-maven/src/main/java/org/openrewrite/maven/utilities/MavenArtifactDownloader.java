@@ -27,18 +27,22 @@ import org.openrewrite.maven.internal.MavenDownloadingException;
 import org.openrewrite.maven.tree.Pom;
 import org.openrewrite.maven.tree.MavenRepository;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.SocketTimeoutException;
 import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.toMap;
+import static org.openrewrite.internal.ConcurrencyUtils.newDaemonThreadPool;
 
 public class MavenArtifactDownloader {
     private static final RetryConfig retryConfig = RetryConfig.custom()
@@ -57,6 +61,10 @@ public class MavenArtifactDownloader {
             mavenDownloaderRetry,
             (request) -> httpClient.newCall(request).execute());
 
+    private static final int MAX_CONCURRENT_DOWNLOADS = 8;
+    private static final ExecutorService downloadExecutor = newDaemonThreadPool(MAX_CONCURRENT_DOWNLOADS,
+            "rewrite-maven-artifact-download");
+
     private final MavenArtifactCache mavenArtifactCache;
     private final Map<String, MavenSettings.Server> serverIdToServer;
     private final Consumer<Throwable> onError;
@@ -73,7 +81,40 @@ public class MavenArtifactDownloader {
     }
 
     /**
-     * Fetch the jar file indicated by the dependency.
+     * Fetch the jar files indicated by the dependencies, several at a time.
+     *
+     * @param dependencies The dependencies to download.
+     * @return The paths on disk of the downloaded artifacts, in the order of the dependencies, leaving out any that
+     * could not be downloaded.
+     */
+    public List<Path> downloadArtifacts(Collection<Pom.Dependency> dependencies) {
+        List<CompletableFuture<Path>> downloads = new ArrayList<>(dependencies.size());
+        for (Pom.Dependency dependency : dependencies) {
+            downloads.add(downloadArtifactAsync(dependency));
+        }
+
+        List<Path> artifacts = new ArrayList<>(downloads.size());
+        for (CompletableFuture<Path> download : downloads) {
+            Path artifact = download.join();
+            if (artifact != null) {
+                artifacts.add(artifact);
+            }
+        }
+        return artifacts;
+    }
+
+    /**
+     * Fetch the jar file indicated by the dependency on another thread.
+     *
+     * @see #downloadArtifact(Pom.Dependency)
+     */
+    public CompletableFuture<Path> downloadArtifactAsync(Pom.Dependency dependency) {
+        return CompletableFuture.supplyAsync(() -> downloadArtifact(dependency), downloadExecutor);
+    }
+
+    /**
+     * Fetch the jar file indicated by the dependency. When the repository publishes a SHA-1 checksum of the jar,
+     * the downloaded jar is verified against it before it is put in the cache.
      *
      * @param dependency The dependency to download.
      * @return The path on disk of the downloaded artifact or <code>null</code> if unable to download.
@@ -94,6 +135,8 @@ public class MavenArtifactDownloader {
                         (dependency.getDatedSnapshotVersion() == null ? dependency.getVersion() : dependency.getDatedSnapshotVersion()) +
                         ".jar";
 
+                String sha1 = downloadSha1(dependency.getRepository(), uri);
+
                 Request.Builder request = applyAuthentication(dependency.getRepository(),
                         new Request.Builder().url(uri).get());
 
@@ -107,17 +150,13 @@ public class MavenArtifactDownloader {
                     return null;
                 }
 
-                InputStream bodyStream = body.byteStream();
-
-                return new InputStream() {
-                    @Override
-                    public int read() throws IOException {
-                        return bodyStream.read();
-                    }
+                InputStream bodyStream = sha1 == null ? body.byteStream() :
+                        new Sha1VerifyingInputStream(body.byteStream(), sha1, uri);
 
+                return new FilterInputStream(bodyStream) {
                     @Override
                     public void close() throws IOException {
-                        bodyStream.close();
+                        super.close();
                         response.close();
                     }
                 };
@@ -128,6 +167,26 @@ public class MavenArtifactDownloader {
         }, onError);
     }
 
+    /**
+     * @return The SHA-1 checksum published alongside an artifact, or null if there isn't one.
+     */
+    @Nullable
+    private String downloadSha1(MavenRepository repository, String artifactUri) {
+        Request.Builder request = applyAuthentication(repository, new Request.Builder().url(artifactUri + ".sha1").get());
+        try (Response response = sendRequest.apply(request.build())) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                return null;
+            }
+            // some repositories follow the checksum with the file name
+            String sha1 = body.string().trim().split("\\s+")[0];
+            return sha1.length() == 40 ? sha1.toLowerCase() : null;
+        } catch (Throwable t) {
+            // the artifact is still usable, just unverified
+            return null;
+        }
+    }
+
     private Request.Builder applyAuthentication(MavenRepository repository, Request.Builder request) {
         MavenSettings.Server authInfo = serverIdToServer.get(repository.getId());
         if (authInfo != null) {
@@ -139,4 +198,59 @@ public class MavenArtifactDownloader {
         }
         return request;
     }
+
+    /**
+     * Computes the SHA-1 of the bytes read through it, and fails the read that reaches the end of the stream if it
+     * doesn't match the expected checksum, so that a corrupt download is never put in the cache.
+     */
+    private static class Sha1VerifyingInputStream extends FilterInputStream {
+        private final MessageDigest digest;
+        private final String expectedSha1;
+        private final String uri;
+        private boolean verified;
+
+        Sha1VerifyingInputStream(InputStream in, String expectedSha1, String uri) throws NoSuchAlgorithmException {
+            super(in);
+            this.digest = MessageDigest.getInstance("SHA-1");
+            this.expectedSha1 = expectedSha1;
+            this.uri = uri;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                verify();
+            } else {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read == -1) {
+                verify();
+            } else {
+                digest.update(b, off, read);
+            }
+            return read;
+        }
+
+        private void verify() throws IOException {
+            if (verified) {
+                return;
+            }
+            verified = true;
+            StringBuilder actualSha1 = new StringBuilder(40);
+            for (byte b : digest.digest()) {
+                actualSha1.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            if (!actualSha1.toString().equals(expectedSha1)) {
+                throw new IOException("Checksum mismatch for " + uri + ". Expected SHA-1 " + expectedSha1 +
+                        " but was " + actualSha1);
+            }
+        }
+    }
 }
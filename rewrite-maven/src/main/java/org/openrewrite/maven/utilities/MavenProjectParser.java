@@ -16,6 +16,7 @@
 package org.openrewrite.maven.utilities;
 
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaParser;
@@ -33,13 +34,18 @@ import org.slf4j.LoggerFactory;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static org.openrewrite.internal.ConcurrencyUtils.join;
+import static org.openrewrite.internal.ConcurrencyUtils.newDaemonThreadPool;
+
 /**
  * Parse a Maven project on disk into a list of {@link org.openrewrite.SourceFile} including
  * Maven, Java, YAML, properties, and XML AST representations of sources and resources found.
@@ -53,15 +59,28 @@ public class MavenProjectParser {
     private final MavenArtifactDownloader artifactDownloader;
     private final JavaParser.Builder<?, ?> javaParserBuilder;
     private final ExecutionContext ctx;
+    private final int parallelism;
 
     public MavenProjectParser(MavenArtifactDownloader artifactDownloader,
                               MavenParser.Builder mavenParserBuilder,
                               JavaParser.Builder<?, ?> javaParserBuilder,
                               ExecutionContext ctx) {
+        this(artifactDownloader, mavenParserBuilder, javaParserBuilder, ctx, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism The maximum number of modules or resource sets to parse at once.
+     */
+    public MavenProjectParser(MavenArtifactDownloader artifactDownloader,
+                              MavenParser.Builder mavenParserBuilder,
+                              JavaParser.Builder<?, ?> javaParserBuilder,
+                              ExecutionContext ctx,
+                              int parallelism) {
         this.mavenParser = mavenParserBuilder.build();
         this.artifactDownloader = artifactDownloader;
         this.javaParserBuilder = javaParserBuilder;
         this.ctx = ctx;
+        this.parallelism = parallelism;
     }
 
     public List<SourceFile> parse(Path projectDirectory) {
@@ -71,33 +90,65 @@ public class MavenProjectParser {
 
         mavens = sort(mavens);
 
-        JavaParser javaParser = javaParserBuilder
-                .build();
-
         logger.info("The order in which projects are being parsed is:");
         for (Maven maven : mavens) {
             logger.info("  {}:{}", maven.getModel().getGroupId(), maven.getModel().getArtifactId());
         }
 
+        // each module is parsed alongside the main Java sources of the modules it depends on, so that the types they
+        // declare resolve no matter which modules are parsed at the same time
+        Map<Maven, List<Path>> mainJavaSources = new HashMap<>();
         for (Maven maven : mavens) {
-            List<Path> dependencies = downloadArtifacts(maven.getModel().getDependencies(Scope.Compile));
-            JavaProvenance mainProvenance = getJavaProvenance(maven, projectDirectory, "main", dependencies);
-            javaParser.setClasspath(dependencies);
-            sourceFiles.addAll(
-                    ListUtils.map(javaParser.parse(maven.getJavaSources(projectDirectory, ctx), projectDirectory, ctx),
-                            s -> s.withMarkers(s.getMarkers().addIfAbsent(mainProvenance))
-                    ));
-
-            List<Path> testDependencies = downloadArtifacts(maven.getModel().getDependencies(Scope.Test));
-            JavaProvenance testProvenance = getJavaProvenance(maven, projectDirectory, "test", testDependencies);
-            javaParser.setClasspath(testDependencies);
-            sourceFiles.addAll(
-                    ListUtils.map(javaParser.parse(maven.getTestJavaSources(projectDirectory, ctx), projectDirectory, ctx),
-                            s -> s.withMarkers(s.getMarkers().addIfAbsent(testProvenance))
-                    ));
-
-            parseResources(maven.getResources(projectDirectory, ctx), projectDirectory, sourceFiles, mainProvenance);
-            parseResources(maven.getTestResources(projectDirectory, ctx), projectDirectory, sourceFiles, testProvenance);
+            mainJavaSources.put(maven, maven.getJavaSources(projectDirectory, ctx));
+        }
+
+        ExecutorService parseExecutor = newDaemonThreadPool(parallelism, "rewrite-maven-project-parser");
+        try {
+            // modules share most of their dependencies, and each artifact is downloaded only once
+            Map<String, CompletableFuture<Path>> artifacts = new ConcurrentHashMap<>();
+
+            Map<Maven, CompletableFuture<List<SourceFile>>> javaSources = new HashMap<>();
+            Map<Maven, CompletableFuture<List<SourceFile>>> resources = new HashMap<>();
+
+            for (Maven maven : mavens) {
+                // downloads for every module start right away, and so overlap with the parsing of earlier modules
+                CompletableFuture<List<Path>> dependencies = downloadArtifacts(
+                        maven.getModel().getDependencies(Scope.Compile), artifacts);
+                CompletableFuture<List<Path>> testDependencies = downloadArtifacts(
+                        maven.getModel().getDependencies(Scope.Test), artifacts);
+                CompletableFuture<JavaProvenance> mainProvenance = dependencies.thenApplyAsync(classpath ->
+                        getJavaProvenance(maven, projectDirectory, "main", classpath), parseExecutor);
+                CompletableFuture<JavaProvenance> testProvenance = testDependencies.thenApplyAsync(classpath ->
+                        getJavaProvenance(maven, projectDirectory, "test", classpath), parseExecutor);
+                Set<Maven> upstream = upstreamModules(maven, mavens);
+
+                javaSources.put(maven, CompletableFuture.allOf(mainProvenance, testProvenance)
+                        .thenApplyAsync(v -> {
+                            // javac isn't thread-safe, so each module is parsed with a Java parser of its own
+                            JavaParser javaParser = buildJavaParser(upstream, mainJavaSources);
+                            List<SourceFile> parsed = new ArrayList<>();
+                            parsed.addAll(parseJava(javaParser, mainJavaSources.get(maven), projectDirectory,
+                                    dependencies.join(), mainProvenance.join()));
+                            parsed.addAll(parseJava(javaParser, maven.getTestJavaSources(projectDirectory, ctx), projectDirectory,
+                                    testDependencies.join(), testProvenance.join()));
+                            return parsed;
+                        }, parseExecutor));
+
+                resources.put(maven, mainProvenance.thenCombineAsync(testProvenance, (main, test) -> {
+                    List<SourceFile> parsed = new ArrayList<>();
+                    parsed.addAll(parseResources(maven.getResources(projectDirectory, ctx), projectDirectory, main));
+                    parsed.addAll(parseResources(maven.getTestResources(projectDirectory, ctx), projectDirectory, test));
+                    return parsed;
+                }, parseExecutor));
+            }
+
+            // in the same order as if the modules had been parsed one after the other
+            for (Maven maven : mavens) {
+                sourceFiles.addAll(join(javaSources.get(maven)));
+                sourceFiles.addAll(join(resources.get(maven)));
+            }
+        } finally {
+            parseExecutor.shutdownNow();
         }
 
         return ListUtils.map(sourceFiles, s -> s.withMarkers(s.getMarkers().addIfAbsent(gitProvenance)));
@@ -162,7 +213,32 @@ public class MavenProjectParser {
         );
     }
 
-    private void parseResources(List<Path> resources, Path projectDirectory, List<SourceFile> sourceFiles, JavaProvenance javaProvenance) {
+    private JavaParser buildJavaParser(Set<Maven> upstreamModules, Map<Maven, List<Path>> mainJavaSources) {
+        List<Parser.Input> dependsOn = new ArrayList<>();
+        for (Maven upstream : upstreamModules) {
+            for (Path source : mainJavaSources.get(upstream)) {
+                dependsOn.add(new Parser.Input(source, () -> {
+                    try {
+                        return Files.newInputStream(source);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        }
+        // a copy, since modules are parsed concurrently and each depends on different modules
+        return dependsOn.isEmpty() ? javaParserBuilder.build() : javaParserBuilder.copy().dependsOn(dependsOn).build();
+    }
+
+    private List<SourceFile> parseJava(JavaParser javaParser, List<Path> sources, Path projectDirectory,
+                                       List<Path> classpath, JavaProvenance javaProvenance) {
+        javaParser.setClasspath(classpath);
+        return new ArrayList<>(ListUtils.map(javaParser.parse(sources, projectDirectory, ctx),
+                s -> s.withMarkers(s.getMarkers().addIfAbsent(javaProvenance))));
+    }
+
+    private List<SourceFile> parseResources(List<Path> resources, Path projectDirectory, JavaProvenance javaProvenance) {
+        List<SourceFile> sourceFiles = new ArrayList<>();
         sourceFiles.addAll(
                 ListUtils.map(
                         new XmlParser().parse(
@@ -193,14 +269,52 @@ public class MavenProjectParser {
                         ctx
                         ), s -> s.withMarkers(s.getMarkers().addIfAbsent(javaProvenance))
                 ));
+        return sourceFiles;
     }
 
-    private List<Path> downloadArtifacts(Set<Pom.Dependency> dependencies) {
-        return dependencies.stream()
+    private CompletableFuture<List<Path>> downloadArtifacts(Set<Pom.Dependency> dependencies,
+                                                            Map<String, CompletableFuture<Path>> artifacts) {
+        List<CompletableFuture<Path>> downloads = dependencies.stream()
                 .filter(d -> d.getRepository() != null)
-                .map(artifactDownloader::downloadArtifact)
-                .filter(Objects::nonNull)
+                .map(d -> artifacts.computeIfAbsent(d.getRepository().getUri() + "/" + d.getCoordinates() + ":" + d.getType(),
+                        k -> artifactDownloader.downloadArtifactAsync(d)))
                 .collect(Collectors.toList());
+        return CompletableFuture.allOf(downloads.toArray(new CompletableFuture[0]))
+                .thenApply(v -> downloads.stream()
+                        .map(CompletableFuture::join)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * @return The other modules of the project that a module depends on.
+     */
+    private static Set<Maven> projectDependencies(Maven maven, List<Maven> mavens) {
+        Set<Maven> dependencies = new HashSet<>();
+        for (Pom.Dependency dependency : maven.getModel().getDependencies()) {
+            for (Maven test : mavens) {
+                if (test.getModel().getGroupId().equals(dependency.getGroupId()) &&
+                        test.getModel().getArtifactId().equals(dependency.getArtifactId())) {
+                    dependencies.add(test);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * @return The other modules of the project that a module depends on, directly or transitively.
+     */
+    private static Set<Maven> upstreamModules(Maven maven, List<Maven> mavens) {
+        Set<Maven> upstream = new LinkedHashSet<>();
+        Deque<Maven> toVisit = new ArrayDeque<>(projectDependencies(maven, mavens));
+        while (!toVisit.isEmpty()) {
+            Maven dependency = toVisit.poll();
+            if (dependency != maven && upstream.add(dependency)) {
+                toVisit.addAll(projectDependencies(dependency, mavens));
+            }
+        }
+        return upstream;
     }
 
     public static List<Maven> sort(List<Maven> mavens) {
@@ -208,15 +322,7 @@ public class MavenProjectParser {
         Map<Maven, Set<Maven>> byDependedOn = new HashMap<>();
 
         for (Maven maven : mavens) {
-            byDependedOn.computeIfAbsent(maven, m -> new HashSet<>());
-            for (Pom.Dependency dependency : maven.getModel().getDependencies()) {
-                for (Maven test : mavens) {
-                    if (test.getModel().getGroupId().equals(dependency.getGroupId()) &&
-                            test.getModel().getArtifactId().equals(dependency.getArtifactId())) {
-                        byDependedOn.computeIfAbsent(maven, m -> new HashSet<>()).add(test);
-                    }
-                }
-            }
+            byDependedOn.put(maven, projectDependencies(maven, mavens));
         }
 
         List<Maven> sorted = new ArrayList<>(mavens.size());
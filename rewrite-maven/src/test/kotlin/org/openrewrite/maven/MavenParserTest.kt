@@ -29,6 +29,7 @@ import org.openrewrite.InMemoryExecutionContext
 import org.openrewrite.Issue
 import org.openrewrite.Parser
 import org.openrewrite.maven.tree.Maven
+import org.openrewrite.maven.tree.Modules
 import org.openrewrite.maven.tree.Pom
 import org.openrewrite.maven.tree.Scope
 import java.nio.file.Paths
@@ -940,4 +941,68 @@ class MavenParserTest {
             .anyMatch { it.artifactId == "b" && it.version == "0.1.0-SNAPSHOT" }
             .anyMatch { it.artifactId == "d" && it.version == "0.1.0-SNAPSHOT" }
     }
+
+    @Test
+    fun modulesOfParent() {
+        val parent = """
+            <project>
+                <groupId>com.foo</groupId>
+                <artifactId>parent</artifactId>
+                <version>1</version>
+                <packaging>pom</packaging>
+            </project>
+        """
+
+        fun module(artifactId: String) = """
+            <project>
+                <parent>
+                    <groupId>com.foo</groupId>
+                    <artifactId>parent</artifactId>
+                    <version>1</version>
+                </parent>
+                <artifactId>$artifactId</artifactId>
+            </project>
+        """
+
+        val mavens = parser.parse(ctx, module("a"), parent, module("b"))
+
+        assertThat(mavens.map { it.model.artifactId }).containsExactly("a", "parent", "b")
+        assertThat(mavens[1].markers.findFirst(Modules::class.java).get().modules.map { it.artifactId })
+            .containsExactly("a", "b")
+        assertThat(mavens[0].markers.findFirst(Modules::class.java)).isEmpty
+    }
+
+    @Test
+    fun projectPomsDoNotShareProperties() {
+        fun c(version: String) = """
+            <project>
+                <groupId>com.foo</groupId>
+                <artifactId>c</artifactId>
+                <version>$version</version>
+            </project>
+        """
+
+        fun module(artifactId: String, cVersion: String) = """
+            <project>
+                <groupId>com.foo</groupId>
+                <artifactId>$artifactId</artifactId>
+                <version>1</version>
+                <properties>
+                    <c.version>$cVersion</c.version>
+                </properties>
+                <dependencies>
+                    <dependency>
+                        <groupId>com.foo</groupId>
+                        <artifactId>c</artifactId>
+                        <version>${"$"}{c.version}</version>
+                    </dependency>
+                </dependencies>
+            </project>
+        """
+
+        val mavens = parser.parse(ctx, module("a", "1"), module("b", "2"), c("1"), c("2"))
+
+        assertThat(mavens.first { it.model.artifactId == "a" }.model.dependencies.first().version).isEqualTo("1")
+        assertThat(mavens.first { it.model.artifactId == "b" }.model.dependencies.first().version).isEqualTo("2")
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.cache
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import java.net.URI
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class InMemoryMavenPomCacheTest {
+    private val repo = URI.create("https://repo.maven.apache.org/maven2")
+
+    @Test
+    fun concurrentLookupsComputeOnce() {
+        val cache = InMemoryMavenPomCache()
+        val computations = AtomicInteger()
+
+        val pool = Executors.newFixedThreadPool(4)
+        try {
+            val results = (1..8).map {
+                pool.submit<CacheResult<*>> {
+                    cache.computeMaven(repo, "org.openrewrite", "rewrite-core", "7.0.0") {
+                        computations.incrementAndGet()
+                        Thread.sleep(100)
+                        null
+                    }
+                }
+            }.map { it.get(10, TimeUnit.SECONDS) }
+
+            assertThat(computations.get()).isEqualTo(1)
+            assertThat(results.map { it.state })
+                .containsOnly(CacheResult.State.Updated, CacheResult.State.Unavailable)
+                .containsOnlyOnce(CacheResult.State.Updated)
+        } finally {
+            pool.shutdownNow()
+        }
+    }
+
+    @Test
+    fun failureIsThrownOnceAndThenUnavailable() {
+        val cache = InMemoryMavenPomCache()
+
+        assertThatThrownBy {
+            cache.computeMaven(repo, "org.openrewrite", "rewrite-core", "7.0.0") {
+                throw IllegalStateException("boom")
+            }
+        }.hasMessage("boom")
+
+        val result = cache.computeMaven(repo, "org.openrewrite", "rewrite-core", "7.0.0") {
+            throw IllegalStateException("should not be computed again")
+        }
+        assertThat(result.state).isEqualTo(CacheResult.State.Unavailable)
+    }
+}
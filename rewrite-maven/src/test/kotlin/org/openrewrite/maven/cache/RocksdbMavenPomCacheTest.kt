@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.cache
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.Parser
+import org.openrewrite.maven.internal.RawMaven
+import org.openrewrite.maven.tree.MavenRepository
+import org.rocksdb.Options
+import org.rocksdb.RocksDB
+import java.net.URI
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class RocksdbMavenPomCacheTest {
+    private val repo = URI.create("https://repo.maven.apache.org/maven2")
+    private val repository = MavenRepository("central", repo, true, false, null, null)
+
+    private fun pom(artifactId: String, version: String = "1.0.0"): RawMaven =
+        RawMaven.parse(Parser.Input(Paths.get(artifactId, "pom.xml")) {
+            """
+                <project>
+                  <groupId>org.openrewrite.test</groupId>
+                  <artifactId>$artifactId</artifactId>
+                  <version>$version</version>
+                </project>
+            """.trimIndent().byteInputStream()
+        }, null, null, InMemoryExecutionContext())
+
+    private fun RocksdbMavenPomCache.compute(repo: URI, pom: RawMaven): CacheResult<RawMaven> =
+        computeMaven(repo, pom.pom.groupId, pom.pom.artifactId, pom.pom.version) { pom }
+
+    @Test
+    fun pomIsComputedOnceAndThenReadBack(@TempDir workspace: Path) {
+        val cache = RocksdbMavenPomCache(workspace)
+        val pom = pom("rewrite-core").withRepository(repository)
+
+        assertThat(cache.compute(repo, pom).state).isEqualTo(CacheResult.State.Updated)
+
+        val cached = cache.computeMaven(repo, "org.openrewrite.test", "rewrite-core", "1.0.0") {
+            throw IllegalStateException("should not be computed again")
+        }
+        assertThat(cached.state).isEqualTo(CacheResult.State.Cached)
+        assertThat(cached.data.pom.artifactId).isEqualTo("rewrite-core")
+        assertThat(cached.data.repository).isEqualTo(repository)
+        assertThat(cached.data.isProjectPom).isFalse
+    }
+
+    @Test
+    fun failureIsThrownOnceAndThenUnavailable(@TempDir workspace: Path) {
+        val cache = RocksdbMavenPomCache(workspace)
+
+        assertThatThrownBy {
+            cache.computeMaven(repo, "org.openrewrite.test", "rewrite-core", "1.0.0") {
+                throw IllegalStateException("boom")
+            }
+        }.hasMessage("boom")
+
+        val result = cache.computeMaven(repo, "org.openrewrite.test", "rewrite-core", "1.0.0") {
+            throw IllegalStateException("should not be computed again")
+        }
+        assertThat(result.state).isEqualTo(CacheResult.State.Unavailable)
+    }
+
+    @Test
+    fun keysDoNotCollideAcrossArtifactsAndRepositories(@TempDir workspace: Path) {
+        val cache = RocksdbMavenPomCache(workspace)
+        val releases = URI.create("https://repo.example.com/maven2/releases")
+        val releasesParent = URI.create("https://repo.example.com/maven2")
+
+        // "rewrite" is a prefix of "rewrite-core", and one repository URI is a prefix of the other
+        cache.compute(releases, pom("rewrite"))
+
+        assertThat(cache.compute(releases, pom("rewrite-core")).state).isEqualTo(CacheResult.State.Updated)
+        assertThat(cache.compute(releasesParent, pom("rewrite")).state).isEqualTo(CacheResult.State.Updated)
+        assertThat(cache.compute(releases, pom("rewrite", "1.0.0.1")).state).isEqualTo(CacheResult.State.Updated)
+        assertThat(cache.compute(releases, pom("rewrite")).data.pom.artifactId).isEqualTo("rewrite")
+    }
+
+    @Test
+    fun cachedPomReadsItsDocumentLazily(@TempDir workspace: Path) {
+        val cache = RocksdbMavenPomCache(workspace)
+        val downloaded = pom("rewrite-core").withRepository(repository)
+        val local = pom("rewrite-java")
+        cache.compute(repo, downloaded)
+        cache.compute(repo, local)
+
+        val cachedDownload = cache.compute(repo, downloaded).data
+        assertThat(cachedDownload.sourceUri).isEqualTo(downloaded.sourceUri)
+
+        val other = MavenRepository("other", URI.create("https://repo.example.com/maven2"), true, false, null, null)
+        val moved = cachedDownload.withRepository(other)
+        assertThat(moved.repository).isEqualTo(other)
+        assertThat(moved.sourceUri).startsWith("https://repo.example.com/maven2/org/openrewrite/test/rewrite-core/")
+        assertThat(moved.document.printTrimmed()).isEqualTo(downloaded.document.printTrimmed())
+
+        val projectPom = cachedDownload.withProjectPom(true)
+        assertThat(projectPom.isProjectPom).isTrue
+        assertThat(projectPom.repository).isEqualTo(repository)
+        assertThat(projectPom.document.printTrimmed()).isEqualTo(downloaded.document.printTrimmed())
+
+        // without a repository, the source URI comes from the document itself, whose path is stored as an absolute URI
+        val cachedLocal = cache.compute(repo, local).data
+        assertThat(cachedLocal.repository).isNull()
+        assertThat(cachedLocal.sourcePath).isEqualTo(local.sourcePath.toAbsolutePath())
+        assertThat(cachedLocal.sourceUri).isEqualTo("file://${local.sourcePath.toAbsolutePath()}")
+    }
+
+    @Test
+    fun entriesWrittenInAnOlderFormatAreCleared(@TempDir workspace: Path) {
+        val pom = pom("rewrite-core")
+        writeDatabase(workspace.resolve("older"), "1", pom)
+        writeDatabase(workspace.resolve("current"), "2", pom)
+
+        assertThat(RocksdbMavenPomCache(workspace.resolve("older")).compute(repo, pom).state)
+            .isEqualTo(CacheResult.State.Updated)
+        assertThat(RocksdbMavenPomCache(workspace.resolve("current")).compute(repo, pom).state)
+            .isEqualTo(CacheResult.State.Cached)
+    }
+
+    private fun writeDatabase(workspace: Path, format: String, pom: RawMaven) {
+        val dir = workspace.resolve(".rewrite-cache").toFile()
+        dir.mkdirs()
+        RocksDB.loadLibrary()
+        Options().setCreateIfMissing(true).use { options ->
+            RocksDB.open(options, dir.absolutePath).use { db ->
+                db.put("format".toByteArray(), format.toByteArray())
+                db.put(
+                    "pom:$repo|${pom.pom.groupId}:${pom.pom.artifactId}:${pom.pom.version}".toByteArray(),
+                    RocksdbMavenPomCache.serializeRawMaven(pom)
+                )
+            }
+        }
+    }
+}
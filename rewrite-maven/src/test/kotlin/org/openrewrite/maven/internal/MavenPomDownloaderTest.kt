@@ -15,12 +15,22 @@
  */
 package org.openrewrite.maven.internal
 
+import mockwebserver3.Dispatcher
+import mockwebserver3.MockResponse
+import mockwebserver3.MockWebServer
+import mockwebserver3.RecordedRequest
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
 import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.maven.MavenExecutionContextView
 import org.openrewrite.maven.cache.InMemoryMavenPomCache
 import org.openrewrite.maven.tree.MavenRepository
+import org.openrewrite.maven.tree.MavenRepositoryMirror
 import java.net.URI
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 class MavenPomDownloaderTest {
 
@@ -46,4 +56,46 @@ class MavenPomDownloaderTest {
         val normalizedRepository = downloader.normalizeRepository(MavenRepository("id", URI("https://localhost"), true, true, false, null, null))
         assertThat(normalizedRepository).isEqualTo(null)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun coalesceConcurrentDownloadsOfTheSamePom() {
+        val pomRequests = AtomicInteger()
+        val allDownloadsStarted = CountDownLatch(1)
+        MockWebServer().apply {
+            dispatcher = object : Dispatcher() {
+                override fun dispatch(request: RecordedRequest): MockResponse {
+                    if (request.path!!.endsWith(".pom")) {
+                        pomRequests.incrementAndGet()
+                        // held until every download has started, so they all overlap the first request
+                        allDownloadsStarted.await(10, TimeUnit.SECONDS)
+                    }
+                    return MockResponse().apply {
+                        setResponseCode(200)
+                        setBody(
+                            """
+                                <project>
+                                  <groupId>com.foo</groupId>
+                                  <artifactId>bar</artifactId>
+                                  <version>1.0.0</version>
+                                </project>
+                            """.trimIndent()
+                        )
+                    }
+                }
+            }
+        }.use { mockRepo ->
+            val ctx = MavenExecutionContextView(InMemoryExecutionContext { err -> throw err })
+            ctx.mirrors = listOf(MavenRepositoryMirror("mock", "http://${mockRepo.hostName}:${mockRepo.port}", "*"))
+
+            val downloader = MavenPomDownloader(InMemoryMavenPomCache(), emptyMap(), ctx)
+            val downloads = (1..8).map {
+                downloader.downloadAsync("com.foo", "bar", "1.0.0", null, null, emptyList(), ctx)
+            }
+            allDownloadsStarted.countDown()
+            CompletableFuture.allOf(*downloads.toTypedArray()).join()
+
+            assertThat(downloads.map { it.join()?.pom?.artifactId }).containsOnly("bar")
+            assertThat(pomRequests.get()).isEqualTo(1)
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.internal
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.openrewrite.ExecutionContext
+import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.Parser
+import org.openrewrite.maven.cache.InMemoryMavenPomCache
+import org.openrewrite.maven.tree.MavenRepository
+import org.openrewrite.maven.tree.Scope
+import java.nio.file.Paths
+
+class RawMavenResolverTest {
+
+    private fun pom(artifactId: String, version: String, vararg dependencies: String): RawMaven =
+        RawMaven.parse(Parser.Input(Paths.get(artifactId, "pom.xml")) {
+            """
+                <project>
+                  <groupId>org.openrewrite.test</groupId>
+                  <artifactId>$artifactId</artifactId>
+                  <version>$version</version>
+                  <dependencies>
+                    ${dependencies.joinToString("\n") {
+                        val (a, v) = it.split(":")
+                        "<dependency><groupId>org.openrewrite.test</groupId><artifactId>$a</artifactId><version>$v</version></dependency>"
+                    }}
+                  </dependencies>
+                </project>
+            """.trimIndent().byteInputStream()
+        }, null, null, InMemoryExecutionContext())
+
+    /**
+     * Serves POMs from memory, answering requests for earlier dependencies more slowly than for later ones,
+     * so that concurrent downloads complete in the reverse of their declaration order.
+     */
+    private class SlowDownloader(private val poms: Map<String, RawMaven>) :
+        MavenPomDownloader(InMemoryMavenPomCache(), emptyMap(), InMemoryExecutionContext()) {
+
+        override fun download(
+            groupId: String,
+            artifactId: String,
+            version: String,
+            relativePath: String?,
+            containingPom: RawMaven?,
+            repositories: Collection<MavenRepository>,
+            ctx: ExecutionContext
+        ): RawMaven? {
+            Thread.sleep(('z' - artifactId[0]) * 10L)
+            val pom = poms["$artifactId:$version"]
+            if (pom == null) {
+                ctx.onError.accept(MavenDownloadingException("Unable to download dependency $artifactId:$version"))
+            }
+            return pom
+        }
+    }
+
+    @Test
+    fun concurrentDownloadsKeepDeclarationOrderAndNearestWins() {
+        val downloader = SlowDownloader(
+            listOf(
+                pom("a", "1.0", "b:2.0"),
+                pom("b", "1.0"),
+                pom("b", "2.0"),
+                pom("c", "1.0")
+            ).associateBy { "${it.pom.artifactId}:${it.pom.version}" }
+        )
+
+        val errors = mutableListOf<Throwable>()
+        val ctx = InMemoryExecutionContext { errors.add(it) }
+        val root = pom("root", "1.0", "a:1.0", "b:1.0", "missing:1.0", "c:1.0")
+
+        val resolved = RawMavenResolver(downloader, emptyList(), false, ctx, null)
+            .resolve(root, Scope.None, "1.0", HashMap(), emptyList())!!
+
+        assertThat(resolved.dependencies.map { "${it.artifactId}:${it.version}" })
+            .containsExactly("a:1.0", "b:1.0", "c:1.0")
+        assertThat(resolved.dependencies.first().model.dependencies.map { "${it.artifactId}:${it.version}" })
+            .containsExactly("b:1.0")
+        assertThat(errors).hasSize(2)
+        assertThat(errors[0]).hasMessage("Unable to download dependency missing:1.0")
+        assertThat(errors[1]).hasMessageStartingWith("Unable to download org.openrewrite.test:missing:1.0.")
+    }
+}
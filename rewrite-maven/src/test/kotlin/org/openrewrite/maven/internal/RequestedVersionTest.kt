@@ -25,4 +25,29 @@ class RequestedVersionTest {
         assertThat(RequestedVersion(GroupArtifact("group", "artifact"),
             null, "[1.9, 11)").selectFrom(listOf("10"))).isEqualTo("10")
     }
+
+    @Test
+    fun newestInAnyRange() {
+        val metadata = MavenMetadata(MavenMetadata.Versioning(
+            listOf("2.0", "1.0", "1.5", "1.10", "3.0-SNAPSHOT", "1.9", "2.1"), null, null))
+
+        assertThat(RequestedVersion(GroupArtifact("group", "artifact"), null, "[1.0,1.10)").selectFrom(metadata))
+            .isEqualTo("1.9")
+        assertThat(RequestedVersion(GroupArtifact("group", "artifact"), null, "(,1.0],[1.6,2.0]").selectFrom(metadata))
+            .isEqualTo("2.0")
+        assertThat(RequestedVersion(GroupArtifact("group", "artifact"), null, "(2.1,2.5)").selectFrom(metadata))
+            .isNull()
+        assertThat(RequestedVersion(GroupArtifact("group", "artifact"), null, "RELEASE").selectFrom(metadata))
+            .isEqualTo("2.1")
+        assertThat(RequestedVersion(GroupArtifact("group", "artifact"), null, "LATEST").selectFrom(metadata))
+            .isEqualTo("3.0-SNAPSHOT")
+    }
+
+    @Test
+    fun newestMatchingNearerRange() {
+        val nearer = RequestedVersion(GroupArtifact("group", "artifact"), null, "[1.0,1.5]")
+        assertThat(RequestedVersion(GroupArtifact("group", "artifact"), nearer, "[1.0,2.0)")
+            .selectFrom(listOf("1.0", "1.5", "1.9", "2.0")))
+            .isEqualTo("1.5")
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.tree
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.openrewrite.maven.MavenParser
+
+class DependencyIndexTest {
+
+    private fun pom(artifactId: String, vararg dependencies: Pair<String, String>) = """
+        <project>
+            <modelVersion>4.0.0</modelVersion>
+            <groupId>org.openrewrite.maven</groupId>
+            <artifactId>$artifactId</artifactId>
+            <version>0.1.0-SNAPSHOT</version>
+            <dependencies>
+                ${dependencies.joinToString("\n") { (a, scope) ->
+                    """
+                        <dependency>
+                            <groupId>org.openrewrite.maven</groupId>
+                            <artifactId>$a</artifactId>
+                            <version>0.1.0-SNAPSHOT</version>
+                            <scope>$scope</scope>
+                        </dependency>
+                    """
+                }}
+            </dependencies>
+        </project>
+    """
+
+    // a -> b -> d, a -> c -> d, and a test scoped e
+    private val a = MavenParser.builder().build().parse(
+        pom("a", "b" to "compile", "c" to "compile", "e" to "test"),
+        pom("b", "d" to "compile"),
+        pom("c", "d" to "compile"),
+        pom("d"),
+        pom("e")
+    ).find { it.model.artifactId == "a" }!!.model
+
+    @Test
+    fun dependenciesOfScope() {
+        assertThat(a.getDependencies(Scope.Compile).map { it.artifactId }).containsExactly("b", "c", "d")
+        assertThat(a.getDependencies(Scope.Test).map { it.artifactId }).containsExactly("b", "c", "d", "e")
+        assertThat(a.getDependencies(Scope.Compile)).isSameAs(a.getDependencies(Scope.Compile))
+    }
+
+    @Test
+    fun lookup() {
+        val compile = a.getDependencyIndex(Scope.Compile)
+        assertThat(compile.contains("org.openrewrite.maven", "d")).isTrue()
+        assertThat(compile.contains("org.openrewrite.maven", "e")).isFalse()
+        assertThat(a.getDependencyIndex(Scope.Test).contains("org.openrewrite.maven", "e")).isTrue()
+
+        assertThat(compile.find("org.openrewrite.maven", "d", "0.1.0-SNAPSHOT")?.artifactId).isEqualTo("d")
+        assertThat(compile.find("org.openrewrite.maven", "d", "0.2.0")).isNull()
+        assertThat(compile.findByPrefix("org.openrewrite").map { it.artifactId }).containsExactly("b", "c", "d")
+        assertThat(compile.findByPrefix("org.openrewrite.maven:c")).hasSize(1)
+    }
+
+    @Test
+    fun findDependenciesOnceAlongEveryPath() {
+        val b = a.dependencies.first { it.artifactId == "b" }
+        assertThat(b.findDependencies("org.openrewrite.maven", "d")).hasSize(1)
+        assertThat(a.getDependencies(b, Scope.Compile).map { it.artifactId }).containsExactly("b", "d")
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.utilities
+
+import mockwebserver3.Dispatcher
+import mockwebserver3.MockResponse
+import mockwebserver3.MockWebServer
+import mockwebserver3.RecordedRequest
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.maven.MavenExecutionContextView
+import org.openrewrite.maven.MavenParser
+import org.openrewrite.maven.cache.LocalMavenArtifactCache
+import org.openrewrite.maven.tree.MavenRepositoryMirror
+import org.openrewrite.maven.tree.Scope
+import java.nio.file.Files
+import java.nio.file.Path
+import java.security.MessageDigest
+
+class MavenArtifactDownloaderTest {
+    private val jar = "not really a jar".toByteArray()
+    private val jarSha1 = MessageDigest.getInstance("SHA-1").digest(jar).joinToString("") { "%02x".format(it) }
+
+    private fun downloadBar(tempDir: Path, sha1: String): Pair<List<Path>, List<Throwable>> {
+        MockWebServer().apply {
+            dispatcher = object : Dispatcher() {
+                override fun dispatch(request: RecordedRequest): MockResponse = when {
+                    request.path!!.endsWith(".pom") -> MockResponse().setBody(
+                        """
+                            <project>
+                              <groupId>com.foo</groupId>
+                              <artifactId>bar</artifactId>
+                              <version>1.0.0</version>
+                            </project>
+                        """.trimIndent()
+                    )
+                    request.path!!.endsWith(".jar") -> MockResponse().setBody(String(jar))
+                    request.path!!.endsWith(".jar.sha1") -> MockResponse().setBody("$sha1  bar-1.0.0.jar")
+                    else -> MockResponse().setResponseCode(404)
+                }
+            }
+        }.use { mockRepo ->
+            val ctx = MavenExecutionContextView(InMemoryExecutionContext { err -> throw err })
+            ctx.mirrors = listOf(MavenRepositoryMirror("mock", "http://${mockRepo.hostName}:${mockRepo.port}", "*"))
+
+            val maven = MavenParser.builder().build().parse(
+                ctx,
+                """
+                    <project>
+                      <groupId>com.foo</groupId>
+                      <artifactId>app</artifactId>
+                      <version>1.0.0</version>
+                      <dependencies>
+                        <dependency>
+                          <groupId>com.foo</groupId>
+                          <artifactId>bar</artifactId>
+                          <version>1.0.0</version>
+                        </dependency>
+                      </dependencies>
+                    </project>
+                """.trimIndent()
+            ).first()
+
+            val errors = mutableListOf<Throwable>()
+            val downloader = MavenArtifactDownloader(LocalMavenArtifactCache(tempDir), null) { errors.add(it) }
+            return downloader.downloadArtifacts(maven.model.getDependencies(Scope.Compile)) to errors
+        }
+    }
+
+    @Test
+    fun verifiedDownload(@TempDir tempDir: Path) {
+        val (artifacts, errors) = downloadBar(tempDir, jarSha1)
+
+        assertThat(errors).isEmpty()
+        assertThat(artifacts).hasSize(1)
+        assertThat(Files.readAllBytes(artifacts[0])).isEqualTo(jar)
+        Files.walk(tempDir).use { files ->
+            assertThat(files.filter { it.toString().endsWith(".lock") || it.toString().endsWith(".tmp") }).isEmpty()
+        }
+    }
+
+    @Test
+    fun checksumMismatchIsNotCached(@TempDir tempDir: Path) {
+        val (artifacts, errors) = downloadBar(tempDir, "0".repeat(40))
+
+        assertThat(artifacts).isEmpty()
+        assertThat(errors).anyMatch { it.message!!.startsWith("Checksum mismatch") }
+        Files.walk(tempDir).use { files ->
+            assertThat(files.filter { it.toString().endsWith(".jar") || it.toString().endsWith(".tmp") }).isEmpty()
+        }
+    }
+}
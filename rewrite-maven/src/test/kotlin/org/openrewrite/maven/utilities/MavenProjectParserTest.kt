@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.utilities
+
+import org.assertj.core.api.Assertions.assertThat
+import org.eclipse.jgit.api.Git
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.openrewrite.InMemoryExecutionContext
+import org.openrewrite.java.JavaParser
+import org.openrewrite.java.tree.J
+import org.openrewrite.java.tree.JavaType
+import org.openrewrite.maven.MavenParser
+import org.openrewrite.maven.cache.LocalMavenArtifactCache
+import java.nio.file.Files
+import java.nio.file.Path
+
+class MavenProjectParserTest {
+
+    private fun module(projectDir: Path, artifactId: String, dependencies: List<String>, source: String) {
+        val moduleDir = projectDir.resolve(artifactId)
+        Files.createDirectories(moduleDir)
+        Files.write(
+            moduleDir.resolve("pom.xml"), """
+                <project>
+                  <groupId>org.openrewrite.test</groupId>
+                  <artifactId>$artifactId</artifactId>
+                  <version>1.0.0</version>
+                  <packaging>jar</packaging>
+                  <dependencies>
+                    ${dependencies.joinToString("\n") {
+                        "<dependency><groupId>org.openrewrite.test</groupId><artifactId>$it</artifactId><version>1.0.0</version></dependency>"
+                    }}
+                  </dependencies>
+                </project>
+            """.trimIndent().toByteArray()
+        )
+
+        val sourceDir = moduleDir.resolve("src/main/java/org/openrewrite/test")
+        Files.createDirectories(sourceDir)
+        Files.write(sourceDir.resolve("${artifactId.toUpperCase()}.java"), source.trimIndent().toByteArray())
+    }
+
+    @Test
+    fun typesDeclaredInUpstreamModulesResolve(@TempDir projectDir: Path, @TempDir artifactCache: Path) {
+        module(projectDir, "a", emptyList(), """
+            package org.openrewrite.test;
+            public class A {}
+        """)
+        module(projectDir, "b", listOf("a"), """
+            package org.openrewrite.test;
+            public class B {
+                A a;
+            }
+        """)
+        // depends on a only transitively
+        module(projectDir, "c", listOf("b"), """
+            package org.openrewrite.test;
+            public class C {
+                A a;
+                B b;
+            }
+        """)
+        // the parser records the git provenance of the project
+        Git.init().setDirectory(projectDir.toFile()).call().close()
+
+        val ctx = InMemoryExecutionContext()
+        val sourceFiles = MavenProjectParser(
+            MavenArtifactDownloader(LocalMavenArtifactCache(artifactCache), null) {},
+            MavenParser.builder(),
+            JavaParser.fromJavaVersion(),
+            ctx,
+            4
+        ).parse(projectDir)
+
+        val fieldTypes = sourceFiles.filterIsInstance<J.CompilationUnit>().associate { cu ->
+            cu.classes[0].simpleName to cu.classes[0].body.statements.map {
+                ((it as J.VariableDeclarations).typeAsFullyQualified as? JavaType.Class)?.fullyQualifiedName
+            }
+        }
+        assertThat(fieldTypes).containsOnlyKeys("A", "B", "C")
+        assertThat(fieldTypes["B"]).containsExactly("org.openrewrite.test.A")
+        assertThat(fieldTypes["C"]).containsExactly("org.openrewrite.test.A", "org.openrewrite.test.B")
+    }
+}
@@ -26,6 +26,7 @@ import org.openrewrite.Issue
 import org.openrewrite.java.tree.J
 import org.openrewrite.java.tree.JavaType
 import org.openrewrite.java.tree.Space
+import org.openrewrite.java.tree.TypeUtils
 import java.io.ByteArrayOutputStream
 import java.io.OutputStreamWriter
 import java.util.Comparator.comparing
@@ -113,6 +114,47 @@ interface JavaTemplateTest : JavaRecipeTest {
         }
     )
 
+    @Test
+    fun replaceMethodWithPooledParser(jp: JavaParser) = assertChanged(
+        jp,
+        recipe = toRecipe {
+            object : JavaIsoVisitor<ExecutionContext>() {
+                val t = JavaTemplate.builder({ cursor }, "a.A test2() { return null; }")
+                    .javaParser(JavaParser.fromJavaVersion().dependsOn("package a; public class A {}"))
+                    .build()
+
+                override fun visitMethodDeclaration(
+                    method: J.MethodDeclaration,
+                    p: ExecutionContext,
+                ): J.MethodDeclaration {
+                    if (method.simpleName == "test") {
+                        return method.withTemplate(t, method.coordinates.replace())
+                    }
+                    return super.visitMethodDeclaration(method, p)
+                }
+            }
+        },
+        before = """
+            class Test {
+                void test() {
+                }
+            }
+        """,
+        after = """
+            class Test {
+            
+                a.A test2() {
+                    return null;
+                }
+            }
+        """,
+        afterConditions = { cu ->
+            val methodType = (cu.classes.first().body.statements.first() as J.MethodDeclaration).type!!
+            assertThat(TypeUtils.asFullyQualified(methodType.resolvedSignature?.returnType)?.fullyQualifiedName)
+                .isEqualTo("a.A")
+        }
+    )
+
     @Test
     fun replaceLambdaWithMethodReference(jp: JavaParser) = assertChanged(
         jp,
@@ -587,6 +629,60 @@ interface JavaTemplateTest : JavaRecipeTest {
         """
     )
 
+    @Test
+    fun stubDeclaresOnlyReferencedScope(jp: JavaParser) {
+        val stubs = mutableListOf<String>()
+        assertChanged(
+            jp,
+            recipe = toRecipe {
+                object : JavaVisitor<ExecutionContext>() {
+                    val t = JavaTemplate.builder({ cursor }, "n = m;")
+                        .doBeforeParseTemplate { stubs.add(it) }
+                        .build()
+
+                    override fun visitMethodDeclaration(method: J.MethodDeclaration, p: ExecutionContext): J {
+                        if (method.simpleName == "test" && method.body!!.statements.size == 2) {
+                            return method.withTemplate(t, method.body!!.statements[1].coordinates.after())
+                        }
+                        return method
+                    }
+                }
+            },
+            before = """
+                import java.util.List;
+                class Test {
+                    int n;
+                    List<String> unusedField;
+                    void test() {
+                        int m = 0;
+                        int unusedLocal = 1;
+                    }
+                    void unusedMethod() {
+                    }
+                }
+            """,
+            after = """
+                import java.util.List;
+                class Test {
+                    int n;
+                    List<String> unusedField;
+                    void test() {
+                        int m = 0;
+                        int unusedLocal = 1;
+                        n = m;
+                    }
+                    void unusedMethod() {
+                    }
+                }
+            """
+        )
+
+        assertThat(stubs).isNotEmpty
+        assertThat(stubs.first())
+            .contains("int n", "int m")
+            .doesNotContain("unusedField", "unusedLocal", "unusedMethod", "java.util.List")
+    }
+
     @Test
     fun lastStatementInClassBlock(jp: JavaParser) = assertChanged(
         jp,
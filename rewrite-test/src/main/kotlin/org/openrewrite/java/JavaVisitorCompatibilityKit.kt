@@ -20,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith
 import org.openrewrite.java.cleanup.*
 import org.openrewrite.java.format.*
 import org.openrewrite.java.internal.TypeCacheTest
+import org.openrewrite.java.internal.template.JavaTemplateParserTest
 import org.openrewrite.java.search.*
 import org.openrewrite.java.security.SecureTempFileCreationTest
 import org.openrewrite.java.security.XmlParserXXEVulnerabilityTest
@@ -179,6 +180,9 @@ abstract class JavaVisitorCompatibilityKit {
     @Nested
     inner class JavaTemplateTck : JavaTemplateTest
 
+    @Nested
+    inner class JavaTemplateParserTck : JavaTemplateParserTest
+
     @Nested
     inner class JavaTemplateSubstitutionsTck : JavaTemplateSubstitutionsTest
 
@@ -178,6 +178,41 @@ interface MethodMatcherTest {
         assertTrue(MethodMatcher("a.A getInteger()").matches(getIntegerMethod, classDecl))
     }
 
+    @Test
+    fun matchesInvocationArgumentTypes(jp: JavaParser) {
+        val cu = jp.parse(
+            """
+            package a;
+            
+            class A {
+                void foo(int i, String s, int[] a) {}
+                void test() {
+                    foo(0, "", new int[0]);
+                }
+            }
+        """.trimIndent()
+        ).first()
+        val test = cu.classes.first().body.statements[1] as J.MethodDeclaration
+        val foo = test.body!!.statements[0] as J.MethodInvocation
+
+        assertTrue(MethodMatcher("a.A foo(int, String, int[])").matches(foo))
+        assertTrue(MethodMatcher("a.A foo(int, java.lang.String, int[])").matches(foo))
+        assertTrue(MethodMatcher("a.A foo(..)").matches(foo))
+        assertTrue(MethodMatcher("a.A foo(int, ..)").matches(foo))
+        assertTrue(MethodMatcher("a.A foo(.., int[])").matches(foo))
+        assertTrue(MethodMatcher("a.A foo(int, .., int[])").matches(foo))
+        assertTrue(MethodMatcher("a.A foo(int, String, int[], ..)").matches(foo))
+        assertTrue(MethodMatcher("a.A foo(*, String, int[])").matches(foo))
+        assertTrue(MethodMatcher("a.* fo*(..)").matches(foo))
+
+        assertFalse(MethodMatcher("a.A foo(int, String)").matches(foo))
+        assertFalse(MethodMatcher("a.A foo(int, String, int)").matches(foo))
+        assertFalse(MethodMatcher("a.A foo(String, ..)").matches(foo))
+        assertFalse(MethodMatcher("a.A foo(.., int)").matches(foo))
+        assertFalse(MethodMatcher("a.B foo(..)").matches(foo))
+        assertFalse(MethodMatcher("a.A bar(..)").matches(foo))
+    }
+
     @Issue("#383")
     @Test
     fun matchesMethodWithWildcardForClassInPackage(jp: JavaParser) {
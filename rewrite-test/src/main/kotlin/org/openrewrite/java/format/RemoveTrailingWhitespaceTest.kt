@@ -16,8 +16,11 @@
 package org.openrewrite.java.format
 
 import org.junit.jupiter.api.Test
+import org.openrewrite.ExecutionContext
+import org.openrewrite.java.JavaIsoVisitor
 import org.openrewrite.java.JavaParser
 import org.openrewrite.java.JavaRecipeTest
+import org.openrewrite.java.tree.J
 
 interface RemoveTrailingWhitespaceTest: JavaRecipeTest {
     @Test
@@ -39,4 +42,29 @@ interface RemoveTrailingWhitespaceTest: JavaRecipeTest {
             }
         """
     )
+
+    @Test
+    fun autoFormatRemovesTrailingPastStopAfter(jp: JavaParser) = assertChanged(
+        jp,
+        recipe = toRecipe {
+            object : JavaIsoVisitor<ExecutionContext>() {
+                override fun visitClassDeclaration(classDecl: J.ClassDeclaration, p: ExecutionContext): J.ClassDeclaration =
+                    autoFormat(classDecl, classDecl.name, p, cursor.parentOrThrow)
+            }
+        },
+        before = """
+            class Test {  
+                
+                public void method(Test t) {  
+                }  
+            }
+        """,
+        after = """
+            class Test {
+            
+                public void method(Test t) {
+                }
+            }
+        """
+    )
 }
@@ -56,4 +56,18 @@ interface TypeCacheTest {
                 foundTypes.filterIsInstance<JavaType.FullyQualified>().map { TypeUtils.asFullyQualified(it)!!.fullyQualifiedName }
         ).containsExactlyInAnyOrder("org.openrewrite.test.YesOrNo", "org.openrewrite.test.YesOrNo.Status")
     }
+
+    @Test
+    fun reusedWhileClassesAreUnchanged(jp: JavaParser.Builder<*, *>) {
+        val cu = jp.build().parse("""
+            import java.util.List;
+            class Test {
+                List<String> l;
+            }
+        """).first()
+
+        val typesInUse = cu.typesInUse
+        assertThat(cu.withImports(emptyList()).typesInUse).isSameAs(typesInUse)
+        assertThat(cu.withClasses(listOf(cu.classes[0])).typesInUse).isNotSameAs(typesInUse)
+    }
 }
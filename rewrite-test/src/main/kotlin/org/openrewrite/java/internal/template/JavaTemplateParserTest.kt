@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.internal.template
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import org.openrewrite.java.JavaParser
+import org.openrewrite.java.tree.J
+import java.util.*
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+interface JavaTemplateParserTest {
+
+    private fun templateParser(parserPool: JavaParserPool) = JavaTemplateParser(parserPool, {}, {}, emptySet())
+
+    /**
+     * Compiled templates are cached for the life of the process, so each test compiles a template of its own.
+     */
+    private fun uniqueTemplate() = "\"${UUID.randomUUID()}\";"
+
+    @Test
+    fun concurrentLookupsCompileOnce(jp: JavaParser.Builder<*, *>) {
+        val lookups = 8
+        val started = CountDownLatch(lookups)
+        val compiles = AtomicInteger()
+        val templateParser = templateParser(JavaParserPool.unpooled {
+            compiles.incrementAndGet()
+            // held until every lookup has started, so the others look the template up while it is compiling
+            started.await(10, TimeUnit.SECONDS)
+            jp.build()
+        })
+        val template = uniqueTemplate()
+
+        val executor = Executors.newFixedThreadPool(lookups)
+        try {
+            val compiled = (1..lookups)
+                .map {
+                    executor.submit(Callable {
+                        started.countDown()
+                        templateParser.parseExpression(template)
+                    })
+                }
+                .map { it.get() }
+
+            assertThat(compiled).allMatch { it is J.Literal }
+            assertThat(compiles.get()).isEqualTo(1)
+        } finally {
+            executor.shutdown()
+        }
+    }
+
+    @Test
+    fun failedCompilationIsNotCached(jp: JavaParser.Builder<*, *>) {
+        val compiles = AtomicInteger()
+        val templateParser = templateParser(JavaParserPool.unpooled {
+            if (compiles.incrementAndGet() == 1) {
+                throw IllegalStateException("boom")
+            }
+            jp.build()
+        })
+        val template = uniqueTemplate()
+
+        assertThatThrownBy { templateParser.parseExpression(template) }
+            .isInstanceOf(IllegalStateException::class.java)
+        assertThat(templateParser.parseExpression(template)).isInstanceOf(J.Literal::class.java)
+        assertThat(compiles.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun parsersWithDifferentKeysDoNotShareTemplates(jp: JavaParser.Builder<*, *>) {
+        val compiles = AtomicInteger()
+        val keyPrefix = UUID.randomUUID().toString()
+        fun templateParser(key: String) = templateParser(JavaParserPool.shared("$keyPrefix:$key") {
+            compiles.incrementAndGet()
+            jp.build()
+        })
+        val template = uniqueTemplate()
+
+        templateParser("a").parseExpression(template)
+        templateParser("a").parseExpression(template)
+        assertThat(compiles.get()).isEqualTo(1)
+
+        templateParser("b").parseExpression(template)
+        assertThat(compiles.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun eachUseOfACachedTemplateHasItsOwnIds(jp: JavaParser.Builder<*, *>) {
+        val templateParser = templateParser(JavaParserPool.unpooled { jp.build() })
+        val template = uniqueTemplate()
+        val substitutions = Substitutions(template, arrayOf<Any>())
+
+        val cached = templateParser.parseExpression(template)
+        assertThat(templateParser.parseExpression(template)).isSameAs(cached)
+
+        val first = substitutions.unsubstitute(cached)
+        val second = substitutions.unsubstitute(templateParser.parseExpression(template))
+        assertThat(setOf(cached.id, first.id, second.id)).hasSize(3)
+        assertThat(first.printTrimmed()).isEqualTo(cached.printTrimmed())
+    }
+}
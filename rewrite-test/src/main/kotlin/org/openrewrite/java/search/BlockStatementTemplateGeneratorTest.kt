@@ -115,19 +115,11 @@ interface BlockStatementTemplateGeneratorTest {
                 import java.io.FileInputStream;
                 
                 class Outer {
-                    private class Inner {
-                        void m2() {}
-                    }
-                
-                    int m() {
-                        return 0;
-                    }
+                    private class Inner {}
                 
-                    int o;
                     int n;
                 
                     void outer(int p1) {
-                        int n2 = 0;
                         try (FileInputStream f = new FileInputStream(""); ) {
                             for (int a : Arrays.asList(0, 1)) {
                                 for (int index; ; ) {
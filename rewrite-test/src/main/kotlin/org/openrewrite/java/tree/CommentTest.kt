@@ -45,4 +45,16 @@ interface CommentTest : JavaTreeTest {
                 }
             """
     )
+
+    @Test
+    fun singleLineNestedInsideMultiline(jp: JavaParser) = assertParsePrintAndProcess(
+            jp,
+            CompilationUnit,
+            """
+                class Test {
+                    /* // */ int n;
+                    String s = "/*"; int m; // */
+                }
+            """
+    )
 }